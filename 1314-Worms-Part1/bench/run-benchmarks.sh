@@ -0,0 +1,26 @@
+#!/bin/sh
+# Compiles the JMH benchmarks in bench/ together with the game and runs them
+# with the GC profiler, so allocation rates are reported next to the timings.
+#
+# JMH_LIB must point to a directory holding the JMH jars: jmh-core,
+# jmh-generator-annprocess and their dependencies jopt-simple and
+# commons-math3.
+#
+# Any arguments are passed on to JMH, e.g.
+#   bench/run-benchmarks.sh WormBenchmark -p nbWorms=1000
+set -e
+cd "$(dirname "$0")/.."
+: "${JMH_LIB:?set JMH_LIB to the directory holding the JMH jars}"
+
+CLASSPATH="lib/AnnotationsDoclets.jar"
+for jar in "$JMH_LIB"/*.jar; do
+	CLASSPATH="$CLASSPATH:$jar"
+done
+OUT=bin-bench
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+find src-provided bench -name '*.java' ! -name '*Test.java' > "$OUT/sources.txt"
+javac -d "$OUT" -cp "$CLASSPATH" \
+	-processor org.openjdk.jmh.generators.BenchmarkProcessor @"$OUT/sources.txt"
+java -cp "$OUT:$CLASSPATH" org.openjdk.jmh.Main -prof gc "$@"
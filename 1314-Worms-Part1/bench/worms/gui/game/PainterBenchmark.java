@@ -0,0 +1,116 @@
+package worms.gui.game;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import worms.gui.GUIConstants;
+import worms.gui.GameState;
+import worms.gui.game.sprites.ImageAcceleration;
+import worms.model.PopulationFacade;
+import worms.model.WormSpatialIndex;
+
+/**
+ * Renders one frame of a game into an offscreen image, with the normal and
+ * with the debug painter. The time per operation is the frame time; run with
+ * the GC profiler to get the allocated bytes per frame (gc.alloc.rate.norm).
+ * Each frame is painted with each mode of image acceleration, with the camera
+ * zoomed in so that only part of the worms is visible or zoomed out so that
+ * the worms are small, and with and without levels of detail.
+ * 
+ * No window is opened, so this also runs with -Djava.awt.headless=true.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PainterBenchmark {
+
+	@Param({ "10", "1000", "100000" })
+	public int nbWorms;
+
+	@Param({ "Off", "Compatible", "Volatile" })
+	public ImageAcceleration.Mode acceleration;
+
+	@Param({ "0.25", "1", "4" })
+	public double zoom;
+
+	@Param({ "true", "false" })
+	public boolean levelOfDetail;
+
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	private PlayGameScreenPainter painter;
+	private PlayGameScreenPainter debugPainter;
+
+	@Setup
+	public void setUp() {
+		ImageAcceleration.setMode(acceleration);
+		int width = GUIConstants.DEFAULT_WINDOW_WIDTH;
+		int height = GUIConstants.DEFAULT_WINDOW_HEIGHT;
+
+		PopulationFacade facade = new PopulationFacade();
+		facade.getPopulation().setSpatialIndex(new WormSpatialIndex());
+		GameState gameState = new GameState(facade, 3, width, height);
+		gameState.startGame(nbWorms);
+		PlayGameScreen screen = new PlayGameScreen(null, gameState);
+		screen.getPanel().setSize(width, height);
+		screen.createSprites();
+		screen.getCamera().setScale(GUIConstants.WORLD_SCALE * zoom);
+
+		painter = new PlayGameScreenPainter(screen);
+		debugPainter = new PlayGameScreenDebugPainter(screen);
+		if (!levelOfDetail) {
+			painter.setLevelOfDetail(LevelOfDetail.NONE);
+			debugPainter.setLevelOfDetail(LevelOfDetail.NONE);
+		}
+
+		image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_ON);
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	private void clear() {
+		graphics.setColor(Color.BLACK);
+		graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+	}
+
+	@Benchmark
+	public BufferedImage paint() {
+		clear();
+		painter.paint(graphics);
+		return image;
+	}
+
+	@Benchmark
+	public BufferedImage paintDebug() {
+		clear();
+		debugPainter.paint(graphics);
+		return image;
+	}
+
+}
@@ -0,0 +1,148 @@
+package worms.gui.game.commands;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import worms.gui.GUIConstants;
+import worms.headless.HeadlessEngine;
+import worms.headless.HeadlessGameView;
+import worms.model.Facade;
+import worms.model.IFacade;
+import worms.model.Worm;
+
+/**
+ * Pushes streams of commands through a command processor, with a view that
+ * shows nothing.
+ * 
+ * The stream benchmarks enqueue one command and advance the queue with one
+ * long tick until it is idle again, so their score is the number of commands
+ * per second and shows the overhead of the pipeline itself. The tick benchmark
+ * advances the queue by one frame at a time while it is kept busy with moves,
+ * as in the game loop, so its score is the latency of a tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandProcessorBenchmark {
+
+	/**
+	 * Radius of the worms in the benchmarks, giving them billions of action
+	 * points
+	 */
+	private static final double RADIUS = 1000;
+
+	/**
+	 * Angle the turns alternate with
+	 */
+	private static final double ANGLE = 0.01;
+
+	/**
+	 * Time (in worm-seconds) by which a stream benchmark advances the queue,
+	 * longer than any command lasts
+	 */
+	private static final double LONG_TICK = 1000;
+
+	private final IFacade facade = new Facade();
+	private final HeadlessGameView view = new HeadlessGameView();
+
+	private CommandProcessor processor;
+	private Worm worm;
+
+	private boolean alternate = false;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		processor = new CommandProcessor();
+		worm = createWorm();
+	}
+
+	/**
+	 * Worms jump at an angle of 45 degrees, so their jumps take time.
+	 */
+	private Worm createWorm() {
+		return facade.createWorm(0, 0, Math.PI / 4, RADIUS, "Worm");
+	}
+
+	private void drain() {
+		do {
+			processor.advanceCommandQueue(LONG_TICK);
+		} while (!processor.isIdle());
+	}
+
+	private boolean alternate() {
+		alternate = !alternate;
+		return alternate;
+	}
+
+	@Benchmark
+	public double move() {
+		processor.enqueueCommand(new Move(facade, worm,
+				GUIConstants.DEFAULT_NB_STEPS, view));
+		drain();
+		return facade.getX(worm);
+	}
+
+	@Benchmark
+	public double turn() {
+		processor.enqueueCommand(new Turn(facade, worm, alternate() ? ANGLE
+				: -ANGLE, view));
+		drain();
+		return facade.getOrientation(worm);
+	}
+
+	/**
+	 * A jump uses up all action points of a worm, so every jump is made by a
+	 * new worm; the cost of creating it is included.
+	 */
+	@Benchmark
+	public double jump() {
+		worm = createWorm();
+		processor.enqueueCommand(new Jump(facade, worm, view));
+		drain();
+		return facade.getX(worm);
+	}
+
+	@Benchmark
+	public double resize() {
+		double factor = 1.0 + GUIConstants.RESIZE_FACTOR;
+		processor.enqueueCommand(new Resize(facade, worm,
+				alternate() ? factor : 1.0 / factor, view));
+		drain();
+		return facade.getRadius(worm);
+	}
+
+	@Benchmark
+	public String rename() {
+		processor.enqueueCommand(new Rename(facade, worm, alternate() ? "Other"
+				: "Worm", view));
+		drain();
+		return facade.getName(worm);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public double tick() {
+		if (processor.isIdle()) {
+			processor.enqueueCommand(new Move(facade, worm,
+					GUIConstants.DEFAULT_NB_STEPS, view));
+		}
+		processor.advanceCommandQueue(HeadlessEngine.TIME_STEP);
+		return facade.getX(worm);
+	}
+
+}
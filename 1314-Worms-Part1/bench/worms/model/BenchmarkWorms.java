@@ -0,0 +1,29 @@
+package worms.model;
+
+/**
+ * Settings shared by the benchmarks for worms.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+final class BenchmarkWorms {
+
+	/**
+	 * Radius of the worms in the benchmarks, giving them billions of action
+	 * points
+	 */
+	static final double RADIUS = 1000;
+
+	/**
+	 * Radius the benchmarks for resizing alternate with
+	 */
+	static final double OTHER_RADIUS = 1001;
+
+	/**
+	 * Angle the benchmarks for turning alternate with, costing one action
+	 * point
+	 */
+	static final double ANGLE = 0.01;
+
+	private BenchmarkWorms() {
+	}
+}
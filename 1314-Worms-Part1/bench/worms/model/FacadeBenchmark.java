@@ -0,0 +1,99 @@
+package worms.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A class of benchmarks for the same hot paths as the worm benchmarks, called
+ * through the facade the GUI uses, so the cost of the facade layer shows up as
+ * the difference between both.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacadeBenchmark {
+
+	@Param({ "1", "1000", "100000" })
+	public int nbWorms;
+
+	private IFacade facade;
+
+	private Worm[] worms;
+
+	private int next = 0;
+
+	private boolean alternate = false;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		facade = new PopulationFacade(new WormPopulation(nbWorms));
+		worms = new Worm[nbWorms];
+		for (int i = 0; i < nbWorms; i++)
+			worms[i] = facade.createWorm(i, 0, (i % 300) / 100.0,
+					BenchmarkWorms.RADIUS, "Worm");
+	}
+
+	private Worm nextWorm() {
+		if (next == worms.length)
+			next = 0;
+		return worms[next++];
+	}
+
+	@Benchmark
+	public boolean canMove() {
+		return facade.canMove(nextWorm(), 1);
+	}
+
+	@Benchmark
+	public double move() {
+		Worm worm = nextWorm();
+		facade.move(worm, 1);
+		return facade.getX(worm);
+	}
+
+	@Benchmark
+	public double turn() {
+		Worm worm = nextWorm();
+		alternate = !alternate;
+		facade.turn(worm, alternate ? BenchmarkWorms.ANGLE
+				: -BenchmarkWorms.ANGLE);
+		return facade.getOrientation(worm);
+	}
+
+	@Benchmark
+	public double[] getJumpStep() {
+		return facade.getJumpStep(nextWorm(), 0.5);
+	}
+
+	@Benchmark
+	public double getJumpTime() {
+		return facade.getJumpTime(nextWorm());
+	}
+
+	@Benchmark
+	public double setRadius() {
+		Worm worm = nextWorm();
+		alternate = !alternate;
+		facade.setRadius(worm, alternate ? BenchmarkWorms.OTHER_RADIUS
+				: BenchmarkWorms.RADIUS);
+		return facade.getMass(worm);
+	}
+
+}
@@ -0,0 +1,71 @@
+package worms.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A class of benchmarks comparing the cost of asking a worm for its jump
+ * parameters in a steady state, where the remembered values can be used, with
+ * the cost right after a change that forces them to be calculated again.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JumpParametersBenchmark {
+
+	private Worm worm;
+
+	private boolean grown;
+
+	@Setup
+	public void setUp() {
+		worm = new Worm(0.0, 0.0, Math.PI / 4, 1.0, "Benchmark");
+	}
+
+	@Benchmark
+	public double steadyStateJumpTime() {
+		return worm.getJumpTime();
+	}
+
+	@Benchmark
+	public double steadyStateJumpStep() {
+		return worm.getJumpStep(0.5)[1];
+	}
+
+	/**
+	 * Alternate between two radii before each query, so every call has to
+	 * calculate the jump parameters again.
+	 */
+	@Benchmark
+	public double invalidatedJumpTime() {
+		grown = !grown;
+		worm.setRadius(grown ? 1.1 : 1.0);
+		return worm.getJumpTime();
+	}
+
+	/**
+	 * The cost of the resize alone, to subtract from invalidatedJumpTime.
+	 */
+	@Benchmark
+	public double resizeOnly() {
+		grown = !grown;
+		worm.setRadius(grown ? 1.1 : 1.0);
+		return worm.getRadius();
+	}
+
+}
@@ -0,0 +1,94 @@
+package worms.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A class of benchmarks validating and registering millions of worm names,
+ * comparing the character scanning validator with the regular expressions it
+ * replaced.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NameValidationBenchmark {
+
+	private static final int NB_NAMES = 1 << 21;
+
+	private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz '\"0(";
+
+	private String[] names;
+
+	private Worm[] worms;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(3);
+		names = new String[NB_NAMES];
+		for (int i = 0; i < NB_NAMES; i++) {
+			StringBuilder name = new StringBuilder();
+			name.append((char) ('A' + random.nextInt(26)));
+			int length = 1 + random.nextInt(12);
+			for (int j = 0; j < length; j++)
+				name.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+			names[i] = name.toString();
+		}
+		WormPopulation population = new WormPopulation(NB_NAMES);
+		worms = new Worm[NB_NAMES];
+		for (int i = 0; i < NB_NAMES; i++)
+			worms[i] = new Worm(population, 0, 0, 0, 1, "Worm");
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NB_NAMES)
+	public int scanningValidator() {
+		int valid = 0;
+		for (String name : names)
+			if (Worm.isValidName(name))
+				valid++;
+		return valid;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NB_NAMES)
+	public int regexValidator() {
+		int valid = 0;
+		for (String name : names)
+			if (name.length() > 1 && name.substring(0, 1).matches("[A-Z]+")
+					&& name.matches("[A-Za-z '\"]+"))
+				valid++;
+		return valid;
+	}
+
+	/**
+	 * Register every name with a fresh registry, as a game creating this many
+	 * worms would.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(NB_NAMES)
+	public int registerAll() {
+		WormNameRegistry registry = new WormNameRegistry();
+		for (int i = 0; i < NB_NAMES; i++)
+			if (registry.isAvailable(names[i], worms[i]))
+				registry.rename(worms[i], null, names[i]);
+		return registry.size();
+	}
+
+}
@@ -0,0 +1,99 @@
+package worms.model;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A class of benchmarks for the hot paths of the class worm, called on the
+ * worms directly. Every call picks the next worm of the population, so larger
+ * populations show the cost of walking over memory that is not in the cache.
+ * 
+ * The worms are big enough to have billions of action points, so moving and
+ * turning never run out during a measurement.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WormBenchmark {
+
+	@Param({ "1", "1000", "100000" })
+	public int nbWorms;
+
+	private Worm[] worms;
+
+	private int next = 0;
+
+	private boolean alternate = false;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		WormPopulation population = new WormPopulation(nbWorms);
+		worms = new Worm[nbWorms];
+		for (int i = 0; i < nbWorms; i++)
+			worms[i] = new Worm(population, i, 0, (i % 300) / 100.0,
+					BenchmarkWorms.RADIUS, "Worm");
+	}
+
+	private Worm nextWorm() {
+		if (next == worms.length)
+			next = 0;
+		return worms[next++];
+	}
+
+	@Benchmark
+	public boolean canMove() {
+		return nextWorm().canMove(1);
+	}
+
+	@Benchmark
+	public double move() {
+		Worm worm = nextWorm();
+		worm.move(1);
+		return worm.getX();
+	}
+
+	@Benchmark
+	public double turn() {
+		Worm worm = nextWorm();
+		alternate = !alternate;
+		worm.turn(alternate ? BenchmarkWorms.ANGLE : -BenchmarkWorms.ANGLE);
+		return worm.getDirection();
+	}
+
+	@Benchmark
+	public double[] getJumpStep() {
+		return nextWorm().getJumpStep(0.5);
+	}
+
+	@Benchmark
+	public double getJumpTime() {
+		return nextWorm().getJumpTime();
+	}
+
+	@Benchmark
+	public double setRadius() {
+		Worm worm = nextWorm();
+		alternate = !alternate;
+		worm.setRadius(alternate ? BenchmarkWorms.OTHER_RADIUS
+				: BenchmarkWorms.RADIUS);
+		return worm.getMass();
+	}
+
+}
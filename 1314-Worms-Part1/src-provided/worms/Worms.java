@@ -2,12 +2,38 @@ package worms;
 
 import worms.gui.GUIOptions;
 import worms.gui.WormsGUI;
-import worms.model.Facade;
+import worms.gui.game.LevelOfDetail;
+import worms.gui.game.sprites.ImageAcceleration;
+import worms.headless.HeadlessEngine;
+import worms.model.PopulationFacade;
+import worms.model.WormException;
+import worms.model.WormNameRegistry;
+import worms.model.WormPopulation;
+import worms.model.WormSpatialIndex;
 
 public class Worms {
 
 	public static void main(String[] args) {
-		new WormsGUI(new Facade(), parseOptions(args)).start();
+		WormPopulation population = new WormPopulation();
+		population.setNameRegistry(new WormNameRegistry());
+		population.setSpatialIndex(new WormSpatialIndex());
+		GUIOptions options = parseOptions(args);
+		WormException.setStackTracesEnabled(options.modelStackTraces);
+		PopulationFacade facade = new PopulationFacade(population);
+		if (options.headless) {
+			new HeadlessEngine(facade, options).start();
+		} else {
+			new WormsGUI(facade, options).start();
+		}
+	}
+
+	private static ImageAcceleration.Mode parseImageAcceleration(String arg) {
+		for (ImageAcceleration.Mode mode : ImageAcceleration.Mode.values()) {
+			if (mode.name().equalsIgnoreCase(arg)) {
+				return mode;
+			}
+		}
+		throw new IllegalArgumentException("Unknown image acceleration: " + arg);
 	}
 
 	private static GUIOptions parseOptions(String[] args) {
@@ -20,6 +46,19 @@ public class Worms {
 			} else if ("-seed".equals(arg)) {
 				long randomSeed = Long.parseLong(args[++i]);
 				options.randomSeed = randomSeed;
+			} else if ("-headless".equals(arg)) {
+				options.headless = true;
+			} else if ("-turns".equals(arg)) {
+				options.headlessTurns = Long.parseLong(args[++i]);
+			} else if ("-accel".equals(arg)) {
+				options.imageAcceleration = parseImageAcceleration(args[++i]);
+			} else if ("-lod".equals(arg)) {
+				double fullRadius = Double.parseDouble(args[++i]);
+				double spriteRadius = Double.parseDouble(args[++i]);
+				options.levelOfDetail = new LevelOfDetail(fullRadius,
+						spriteRadius);
+			} else if ("-nostacktraces".equals(arg)) {
+				options.modelStackTraces = false;
 			}
 		}
 
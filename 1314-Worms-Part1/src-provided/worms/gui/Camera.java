@@ -0,0 +1,109 @@
+package worms.gui;
+
+import worms.model.Worm;
+
+/**
+ * The part of the world that is shown on a screen: the position in the world
+ * at the center of the screen and the scale at which the world is drawn.
+ *
+ * The camera can follow a worm; the screen showing the worm then keeps the
+ * camera at its position.
+ */
+public class Camera {
+
+	/**
+	 * Smallest and largest scale (in pixels per worm-meter)
+	 */
+	public static final double MIN_SCALE = GUIConstants.WORLD_SCALE / 16;
+	public static final double MAX_SCALE = GUIConstants.WORLD_SCALE * 16;
+
+	private double x = 0;
+	private double y = 0;
+	private double scale = GUIConstants.WORLD_SCALE;
+
+	private Worm followedWorm;
+
+	/**
+	 * The x-coordinate (in worm-meter) at the center of the screen
+	 */
+	public double getX() {
+		return x;
+	}
+
+	/**
+	 * The y-coordinate (in worm-meter) at the center of the screen
+	 */
+	public double getY() {
+		return y;
+	}
+
+	public void setPosition(double x, double y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	/**
+	 * Move the camera by the given distance (in worm-meter); the camera stops
+	 * following its worm. Screens that report whether the camera follows a
+	 * worm should stop following through their own path first.
+	 */
+	public void pan(double dx, double dy) {
+		setPosition(x + dx, y + dy);
+		followedWorm = null;
+	}
+
+	/**
+	 * The scale at which the world is drawn (in pixels per worm-meter)
+	 */
+	public double getScale() {
+		return scale;
+	}
+
+	/**
+	 * The scale is limited to [MIN_SCALE, MAX_SCALE]
+	 */
+	public void setScale(double scale) {
+		this.scale = Math.max(MIN_SCALE, Math.min(scale, MAX_SCALE));
+	}
+
+	/**
+	 * Multiply the scale by the given factor, keeping the given position (in
+	 * worm-meter) at the same place on the screen
+	 */
+	public void zoom(double factor, double fixedX, double fixedY) {
+		double oldScale = scale;
+		setScale(scale * factor);
+		double ratio = oldScale / scale;
+		setPosition(fixedX + (x - fixedX) * ratio, fixedY + (y - fixedY)
+				* ratio);
+	}
+
+	/**
+	 * Show the origin of the world at the default scale, without following a
+	 * worm
+	 */
+	public void reset() {
+		setPosition(0, 0);
+		setScale(GUIConstants.WORLD_SCALE);
+		followedWorm = null;
+	}
+
+	/**
+	 * The worm the camera follows, or null if it does not follow a worm
+	 */
+	public Worm getFollowedWorm() {
+		return followedWorm;
+	}
+
+	public void follow(Worm worm) {
+		this.followedWorm = worm;
+	}
+
+	public double meterToPixels(double m) {
+		return m * scale;
+	}
+
+	public double pixelToMeter(double p) {
+		return p / scale;
+	}
+}
@@ -23,9 +23,20 @@ public final class GUIConstants {
 	public static final double TIME_SCALE = 2;
 
 	/**
-	 * Scale at which the game is drawn to the screen (in pixels per worm-meter)
+	 * Scale at which the game is drawn to the screen before zooming (in pixels
+	 * per worm-meter)
 	 */
-	public static double WORLD_SCALE = 45;
+	public static final double WORLD_SCALE = 45;
+
+	/**
+	 * Factor by which the scale changes when zooming in or out a single time
+	 */
+	public static final double ZOOM_FACTOR = 1.25;
+
+	/**
+	 * Distance to pan when pressing a 'pan' key a single time (in pixels)
+	 */
+	public static final double PAN_DISTANCE = 50;
 
 	/**
 	 * Minimal angle to turn when pressing the 'turn' key a single time
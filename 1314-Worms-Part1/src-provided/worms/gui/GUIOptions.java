@@ -1,6 +1,18 @@
 package worms.gui;
 
+import worms.gui.game.LevelOfDetail;
+import worms.gui.game.sprites.ImageAcceleration;
+
 public class GUIOptions {
 	public boolean disableFullScreen = false;
 	public long randomSeed = 3;
+	public boolean headless = false;
+	public long headlessTurns = 1000000;
+	public ImageAcceleration.Mode imageAcceleration = ImageAcceleration.Mode.Compatible;
+	public LevelOfDetail levelOfDetail = LevelOfDetail.DEFAULT;
+	/**
+	 * Whether rejected actions fill in the stack trace of their exceptions
+	 * (see WormException.setStackTracesEnabled)
+	 */
+	public boolean modelStackTraces = true;
 }
\ No newline at end of file
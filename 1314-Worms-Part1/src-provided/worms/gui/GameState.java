@@ -12,6 +12,7 @@ import worms.gui.game.commands.Command;
 import worms.gui.game.commands.CommandProcessor;
 import worms.model.IFacade;
 import worms.model.Worm;
+import worms.model.WormSpatialIndex;
 
 public class GameState {
 
@@ -38,9 +39,26 @@ public class GameState {
 			"Kara");
 	private int nameIndex = 0;
 
-	private void createRandomWorms() {
-		for (int i = 0; i < wormNames.size(); i++) {
-			String name = wormNames.get(nameIndex++);
+	/**
+	 * The first round of names is taken as is; later rounds get a suffix of
+	 * lower case letters, so every name is unique.
+	 */
+	private String createName(int index) {
+		String name = wormNames.get(index % wormNames.size());
+		int round = index / wormNames.size();
+		if (round == 0) {
+			return name;
+		}
+		StringBuilder result = new StringBuilder(name).append(' ');
+		for (; round > 0; round /= 26) {
+			result.append((char) ('a' + round % 26));
+		}
+		return result.toString();
+	}
+
+	private void createRandomWorms(int nbWorms) {
+		for (int i = 0; i < nbWorms; i++) {
+			String name = createName(nameIndex++);
 			double radius = 0.25 + random.nextDouble() / 4;
 			double worldWidth = GUIUtils.pixelToMeter(width);
 			double worldHeight = GUIUtils.pixelToMeter(height);
@@ -60,7 +78,11 @@ public class GameState {
 	}
 
 	public void startGame() {
-		createRandomWorms();
+		startGame(wormNames.size());
+	}
+
+	public void startGame(int nbWorms) {
+		createRandomWorms(nbWorms);
 		selectNextWorm();
 	}
 
@@ -87,6 +109,14 @@ public class GameState {
 		return facade;
 	}
 
+	/**
+	 * The index of the worm positions (in world coordinates), or null if the
+	 * facade does not keep one
+	 */
+	public WormSpatialIndex getSpatialIndex() {
+		return facade.getSpatialIndex();
+	}
+
 	public Collection<Worm> getWorms() {
 		return Collections.unmodifiableCollection(worms);
 	}
@@ -95,8 +125,25 @@ public class GameState {
 		commandProcessor.advanceCommandQueue(timeDelta);
 	}
 
+	private Runnable enqueueListener;
+
+	/**
+	 * The given listener is run after each command that is enqueued (null
+	 * for none)
+	 */
+	public void setEnqueueListener(Runnable listener) {
+		this.enqueueListener = listener;
+	}
+
 	public void enqueueCommand(Command cmd) {
 		commandProcessor.enqueueCommand(cmd);
+		if (enqueueListener != null) {
+			enqueueListener.run();
+		}
+	}
+
+	public boolean isIdle() {
+		return commandProcessor.isIdle();
 	}
 
 }
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
@@ -69,6 +70,7 @@ public abstract class Screen {
 
 	private final WormsGUI gui;
 	private final Component contents;
+	private final Camera camera = new Camera();
 
 	protected Screen(WormsGUI gui) {
 		this.gui = gui;
@@ -105,6 +107,10 @@ public abstract class Screen {
 		return gui;
 	}
 
+	public Camera getCamera() {
+		return camera;
+	}
+
 	protected abstract InputMode createDefaultInputMode();
 
 	private InputMode currentInputMode;
@@ -149,20 +155,26 @@ public abstract class Screen {
 		getPanel().repaint();
 	}
 
+	public void repaint(Rectangle area) {
+		getPanel().repaint(area.x, area.y, area.width, area.height);
+	}
+
 	public double getScreenX(double x) {
-		return getScreenWidth() / 2.0 + GUIUtils.meterToPixels(x);
+		return getScreenWidth() / 2.0 + camera.meterToPixels(x - camera.getX());
 	}
 
 	public double getLogicalX(double screenX) {
-		return GUIUtils.pixelToMeter(screenX - getScreenWidth() / 2.0);
+		return camera.getX()
+				+ camera.pixelToMeter(screenX - getScreenWidth() / 2.0);
 	}
 
 	public double getScreenY(double y) {
-		return getScreenHeight() / 2.0 - GUIUtils.meterToPixels(y);
+		return getScreenHeight() / 2.0 - camera.meterToPixels(y - camera.getY());
 	}
 
 	public double getLogicalY(double screenY) {
-		return GUIUtils.pixelToMeter(getScreenHeight() / 2.0 - screenY);
+		return camera.getY()
+				+ camera.pixelToMeter(getScreenHeight() / 2.0 - screenY);
 	}
 
 }
@@ -11,6 +11,7 @@ import java.awt.event.WindowEvent;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
+import worms.gui.game.sprites.ImageAcceleration;
 import worms.gui.menu.MainMenuScreen;
 import worms.model.IFacade;
 
@@ -27,6 +28,7 @@ public class WormsGUI {
 	public WormsGUI(IFacade facade, GUIOptions options) {
 		this.facade = facade;
 		this.options = options;
+		ImageAcceleration.setMode(options.imageAcceleration);
 	}
 
 	public void switchToScreen(Screen newScreen) {
@@ -63,7 +65,7 @@ public class WormsGUI {
 		GraphicsEnvironment env = GraphicsEnvironment
 				.getLocalGraphicsEnvironment();
 		if (env.isHeadlessInstance()) {
-			System.out.println("Graphics not supported");
+			System.out.println("Graphics not supported (use -headless to simulate without a display)");
 			System.exit(0);
 		}
 
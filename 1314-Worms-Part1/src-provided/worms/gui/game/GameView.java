@@ -0,0 +1,25 @@
+package worms.gui.game;
+
+import worms.model.Worm;
+
+/**
+ * What commands need from whatever shows the game: the screen when playing,
+ * or nothing at all when simulating without a display.
+ */
+public interface GameView {
+
+	/**
+	 * Show the given worm at the given location (in worm-meter), e.g. while
+	 * it is moving or jumping
+	 */
+	public void showWormAt(Worm worm, double x, double y);
+
+	/**
+	 * Update the way the given worm is shown after its direction or radius
+	 * changed
+	 */
+	public void refreshWorm(Worm worm);
+
+	public void addMessage(String message);
+
+}
@@ -0,0 +1,88 @@
+package worms.gui.game;
+
+/**
+ * Decides how much of a worm is painted, by the radius of the worm on the
+ * screen (in pixels), so that a screen full of small worms does not paint a
+ * label and an action bar that cannot be read for each of them.
+ */
+public class LevelOfDetail {
+
+	public static enum Tier {
+		/**
+		 * The sprite, name label and action bar (and markers)
+		 */
+		Full,
+		/**
+		 * Only the sprite
+		 */
+		Sprite,
+		/**
+		 * A dot, filled together with the dots of all other worms in this tier
+		 */
+		Dot
+	}
+
+	/**
+	 * Smallest radius (in pixels) at which a worm is painted with its labels
+	 */
+	public static final double DEFAULT_FULL_RADIUS = 10;
+
+	/**
+	 * Smallest radius (in pixels) at which a worm is painted with its sprite
+	 */
+	public static final double DEFAULT_SPRITE_RADIUS = 3;
+
+	public static final LevelOfDetail DEFAULT = new LevelOfDetail(
+			DEFAULT_FULL_RADIUS, DEFAULT_SPRITE_RADIUS);
+
+	/**
+	 * Paints every worm in full
+	 */
+	public static final LevelOfDetail NONE = new LevelOfDetail(0, 0);
+
+	private final double fullRadius;
+	private final double spriteRadius;
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             if a radius is negative, or if the sprite radius is larger
+	 *             than the full radius
+	 */
+	public LevelOfDetail(double fullRadius, double spriteRadius)
+			throws IllegalArgumentException {
+		if (!(spriteRadius >= 0) || !(fullRadius >= spriteRadius)) {
+			throw new IllegalArgumentException("Invalid level of detail: "
+					+ fullRadius + ", " + spriteRadius);
+		}
+		this.fullRadius = fullRadius;
+		this.spriteRadius = spriteRadius;
+	}
+
+	public double getFullRadius() {
+		return fullRadius;
+	}
+
+	public double getSpriteRadius() {
+		return spriteRadius;
+	}
+
+	/**
+	 * @param radius
+	 *            radius of the worm on the screen (in pixels)
+	 */
+	public Tier getTier(double radius) {
+		if (radius >= fullRadius) {
+			return Tier.Full;
+		} else if (radius >= spriteRadius) {
+			return Tier.Sprite;
+		} else {
+			return Tier.Dot;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "full >= " + fullRadius + " px, sprite >= " + spriteRadius
+				+ " px";
+	}
+}
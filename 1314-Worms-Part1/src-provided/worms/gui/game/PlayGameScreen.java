@@ -2,17 +2,28 @@ package worms.gui.game;
 
 import java.awt.Graphics2D;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.util.HashSet;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.Timer;
 
+import worms.gui.Camera;
 import worms.gui.GUIConstants;
 import worms.gui.GUIUtils;
 import worms.gui.GameState;
@@ -23,25 +34,40 @@ import worms.gui.game.commands.Move;
 import worms.gui.game.commands.Rename;
 import worms.gui.game.commands.Resize;
 import worms.gui.game.commands.Turn;
+import worms.gui.game.sprites.ImageAcceleration;
 import worms.gui.game.sprites.Sprite;
+import worms.gui.game.sprites.SpriteRegistry;
 import worms.gui.game.sprites.WormSprite;
 import worms.model.IFacade;
 import worms.model.Worm;
+import worms.model.WormSpatialIndex;
 
-public class PlayGameScreen extends Screen {
+public class PlayGameScreen extends Screen implements GameView {
 
 	private class DefaultInputMode extends InputMode {
 
 		@Override
 		public void mouseClicked(MouseEvent e) {
 			Point point = e.getPoint();
+			double x = getLogicalX(point.getX());
+			double y = getLogicalY(point.getY());
+			WormSpatialIndex index = getGameState().getSpatialIndex();
+			if (index != null) {
+				// the index finds the worms by their current location, so the
+				// worms that are shown elsewhere are tested as well
+				clickedWorms.clear();
+				index.getWormsInCircle(x, y, 0, clickedWorms);
+				clickedWorms.addAll(displacedWorms);
+				WormSprite sprite = getWormSpriteAt(clickedWorms, x, y);
+				if (sprite != null) {
+					getGameState().selectWorm(sprite.getWorm());
+				}
+				return;
+			}
 			for (WormSprite sprite : getSpritesOfType(WormSprite.class)) {
-				Worm worm = sprite.getWorm();
-				double[] xy = sprite.getCenterLocation();
-				double radius = GUIUtils.meterToPixels(getFacade().getRadius(
-						worm));
-				if (GUIUtils.distance(xy[0], xy[1], point.getX(), point.getY()) <= radius) {
-					getGameState().selectWorm(worm);
+				if (GUIUtils.distance(sprite.getWorldX(), sprite.getWorldY(),
+						x, y) <= sprite.getRadius()) {
+					getGameState().selectWorm(sprite.getWorm());
 					return;
 				}
 			}
@@ -55,6 +81,10 @@ public class PlayGameScreen extends Screen {
 
 		@Override
 		public void keyPressed(KeyEvent e) {
+			if (e.isShiftDown()) {
+				pan(e);
+				return;
+			}
 			switch (e.getKeyCode()) {
 			case KeyEvent.VK_LEFT:
 			case KeyEvent.VK_RIGHT:
@@ -67,6 +97,24 @@ public class PlayGameScreen extends Screen {
 			}
 		}
 
+		private void pan(KeyEvent e) {
+			double distance = GUIConstants.PAN_DISTANCE;
+			switch (e.getKeyCode()) {
+			case KeyEvent.VK_LEFT:
+				panCamera(-distance, 0);
+				break;
+			case KeyEvent.VK_RIGHT:
+				panCamera(distance, 0);
+				break;
+			case KeyEvent.VK_UP:
+				panCamera(0, -distance);
+				break;
+			case KeyEvent.VK_DOWN:
+				panCamera(0, distance);
+				break;
+			}
+		}
+
 		@Override
 		public void keyReleased(KeyEvent e) {
 			switch (e.getKeyCode()) {
@@ -82,6 +130,31 @@ public class PlayGameScreen extends Screen {
 			case KeyEvent.VK_N:
 				switchInputMode(new EnteringNameMode());
 				break;
+			case KeyEvent.VK_A:
+				ImageAcceleration.setMode(ImageAcceleration.getMode().next());
+				addMessage("Image acceleration: " + ImageAcceleration.getMode());
+				break;
+			case KeyEvent.VK_F:
+				if (getCamera().getFollowedWorm() == null) {
+					followWorm(getSelectedWorm());
+				} else {
+					followWorm(null);
+				}
+				break;
+			case KeyEvent.VK_PAGE_UP:
+				zoomCamera(GUIConstants.ZOOM_FACTOR, getScreenWidth() / 2.0,
+						getScreenHeight() / 2.0);
+				break;
+			case KeyEvent.VK_PAGE_DOWN:
+				zoomCamera(1 / GUIConstants.ZOOM_FACTOR,
+						getScreenWidth() / 2.0, getScreenHeight() / 2.0);
+				break;
+			case KeyEvent.VK_HOME:
+				resetCamera();
+				break;
+			case KeyEvent.VK_L:
+				toggleLevelOfDetail();
+				break;
 			case KeyEvent.VK_PLUS:
 			case KeyEvent.VK_ADD:
 				resizeWorm(true);
@@ -154,8 +227,9 @@ public class PlayGameScreen extends Screen {
 
 		@Override
 		public void mouseDragged(MouseEvent e) {
-			double[] wormXY = getWormSprite(getSelectedWorm())
-					.getCenterLocation();
+			WormSprite sprite = getWormSprite(getSelectedWorm());
+			layoutSprite(sprite);
+			double[] wormXY = sprite.getCenterLocation();
 			double currentOrientation = getFacade().getOrientation(
 					getSelectedWorm());
 			this.angle = Math.PI
@@ -227,10 +301,95 @@ public class PlayGameScreen extends Screen {
 		}
 	}
 
+	/**
+	 * Wakes up the game loop on any input (except moving the mouse)
+	 */
+	private class WakeUpListener extends InputMode {
+		@Override
+		public void keyPressed(KeyEvent e) {
+			wakeUp();
+		}
+
+		@Override
+		public void keyReleased(KeyEvent e) {
+			wakeUp();
+		}
+
+		@Override
+		public void keyTyped(KeyEvent e) {
+			wakeUp();
+		}
+
+		@Override
+		public void mouseClicked(MouseEvent e) {
+			wakeUp();
+		}
+
+		@Override
+		public void mousePressed(MouseEvent e) {
+			wakeUp();
+		}
+
+		@Override
+		public void mouseReleased(MouseEvent e) {
+			wakeUp();
+		}
+
+		@Override
+		public void mouseDragged(MouseEvent e) {
+			wakeUp();
+		}
+	}
+
 	private final PlayGameScreenPainter painter;
 	private final GameState gameState;
 
-	private final Set<Sprite> sprites = new HashSet<Sprite>();
+	/**
+	 * The level of detail of the painter, unless it is switched off
+	 */
+	private final LevelOfDetail levelOfDetail;
+
+	private Timer timer;
+	private final AtomicLong lastUpdateTimestamp = new AtomicLong();
+
+	private final SpriteRegistry sprites = new SpriteRegistry();
+
+	/**
+	 * The area each worm covered when its bounds were last computed, since the
+	 * camera last changed
+	 */
+	private Map<WormSprite, Rectangle> wormBounds = new IdentityHashMap<WormSprite, Rectangle>();
+	/**
+	 * The worms that changed since the last tick
+	 */
+	private final Set<Worm> dirtyWorms = Collections
+			.newSetFromMap(new IdentityHashMap<Worm, Boolean>());
+	private Worm lastSelectedWorm;
+	private boolean messageShown = false;
+
+	/**
+	 * The order in which the worms were created, which is the order in which
+	 * they are painted
+	 */
+	private final Map<Worm, Integer> wormOrder = new IdentityHashMap<Worm, Integer>();
+	private final Comparator<Worm> wormOrderComparator = new Comparator<Worm>() {
+		@Override
+		public int compare(Worm worm1, Worm worm2) {
+			return getWormOrder(worm1) - getWormOrder(worm2);
+		}
+	};
+
+	/**
+	 * The worms whose sprite is shown away from their location in the model,
+	 * while a move or jump is animated
+	 */
+	private final Set<Worm> displacedWorms = Collections
+			.newSetFromMap(new IdentityHashMap<Worm, Boolean>());
+
+	// reused for every frame
+	private final List<Worm> visibleWorms = new ArrayList<Worm>();
+	private final List<WormSprite> visibleSprites = new ArrayList<WormSprite>();
+	private final List<Worm> clickedWorms = new ArrayList<Worm>();
 
 	private static class MessageDisplay {
 		private LinkedList<String> messages = new LinkedList<String>();
@@ -244,6 +403,10 @@ public class PlayGameScreen extends Screen {
 				this.messages.add(message);
 		}
 
+		public boolean hasMessages() {
+			return !messages.isEmpty();
+		}
+
 		private boolean isDisplayingMessage() {
 			return currentMessageDisplayedSince > 0;
 		}
@@ -283,6 +446,35 @@ public class PlayGameScreen extends Screen {
 		super(gui);
 		this.gameState = state;
 		this.painter = createPainter();
+		this.levelOfDetail = gui == null ? LevelOfDetail.DEFAULT : gui
+				.getOptions().levelOfDetail;
+		painter.setLevelOfDetail(levelOfDetail);
+
+		WakeUpListener wakeUpListener = new WakeUpListener();
+		getPanel().addKeyListener(wakeUpListener);
+		getPanel().addMouseListener(wakeUpListener);
+		getPanel().addMouseMotionListener(wakeUpListener);
+		state.setEnqueueListener(new Runnable() {
+			@Override
+			public void run() {
+				wakeUp();
+			}
+		});
+
+		getPanel().addMouseWheelListener(new MouseWheelListener() {
+			@Override
+			public void mouseWheelMoved(MouseWheelEvent e) {
+				zoomCamera(Math.pow(GUIConstants.ZOOM_FACTOR,
+						-e.getWheelRotation()), e.getX(), e.getY());
+			}
+		});
+		getPanel().addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(ComponentEvent e) {
+				// the center of the screen moved
+				cameraChanged();
+			}
+		});
 	}
 
 	protected InputMode createDefaultInputMode() {
@@ -296,9 +488,7 @@ public class PlayGameScreen extends Screen {
 	}
 
 	private void runGameLoop() {
-		final AtomicLong lastUpdateTimestamp = new AtomicLong();
-
-		final Timer timer = new Timer(1000 / GUIConstants.FRAMERATE,
+		timer = new Timer(1000 / GUIConstants.FRAMERATE,
 				new ActionListener() {
 					@Override
 					public void actionPerformed(ActionEvent e) {
@@ -306,7 +496,10 @@ public class PlayGameScreen extends Screen {
 						long delta = now - lastUpdateTimestamp.getAndSet(now);
 						double dt = delta / 1000.0 * GUIConstants.TIME_SCALE;
 						gameState.evolve(dt);
-						repaint();
+						repaintChanges();
+						if (isIdle()) {
+							timer.stop();
+						}
 					}
 				});
 		Thread.setDefaultUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
@@ -322,20 +515,272 @@ public class PlayGameScreen extends Screen {
 		timer.start();
 	}
 
+	/**
+	 * Whether nothing on the screen changes until the next input: no command
+	 * is executing, no message is shown and the worm is not being turned
+	 */
+	public boolean isIdle() {
+		return getGameState().isIdle() && !messageDisplay.hasMessages()
+				&& !(getCurrentInputMode() instanceof TurningMode);
+	}
+
+	/**
+	 * Restart the game loop if it was stopped because the screen was idle
+	 */
+	public void wakeUp() {
+		if (timer != null && !timer.isRunning()) {
+			// the time the loop was stopped does not count
+			lastUpdateTimestamp.set(System.currentTimeMillis());
+			timer.start();
+		}
+	}
+
 	public void createSprites() {
 		for (Worm worm : getGameState().getWorms()) {
 			WormSprite sprite = createWormSprite(worm);
 			sprites.add(sprite);
+			wormOrder.put(worm, wormOrder.size());
+			wormBounds.put(sprite, painter.getWormBounds(sprite));
 		}
+		lastSelectedWorm = getSelectedWorm();
+	}
+
+	private int getWormOrder(Worm worm) {
+		Integer order = wormOrder.get(worm);
+		return order == null ? Integer.MAX_VALUE : order;
+	}
+
+	/**
+	 * Place the given sprite on the screen, as seen by the camera
+	 */
+	/**
+	 * The sprite of the given worms that is shown at the given location (in
+	 * worm-meter) and whose center is closest to it, or null if there is none
+	 */
+	private WormSprite getWormSpriteAt(List<Worm> worms, double x, double y) {
+		WormSprite result = null;
+		double closest = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < worms.size(); i++) {
+			WormSprite sprite = getWormSprite(worms.get(i));
+			if (sprite != null) {
+				double distance = GUIUtils.distance(sprite.getWorldX(),
+						sprite.getWorldY(), x, y);
+				if (distance <= sprite.getRadius() && distance < closest) {
+					result = sprite;
+					closest = distance;
+				}
+			}
+		}
+		return result;
+	}
+
+	private void layoutSprite(WormSprite sprite) {
+		sprite.setWorldScale(getCamera().getScale());
+		sprite.setCenterLocation(getScreenX(sprite.getWorldX()),
+				getScreenY(sprite.getWorldY()));
+	}
+
+	/**
+	 * The sprites of the worms that may be visible on the screen, in the order
+	 * in which they were created, placed on the screen as seen by the camera.
+	 * The sprite of the selected worm is always included.
+	 * 
+	 * The returned list is reused for the next call.
+	 * 
+	 * @param margin
+	 *            the distance (in pixels) around its circle that painting a
+	 *            worm may reach
+	 */
+	public List<WormSprite> getVisibleWormSprites(double margin) {
+		Camera camera = getCamera();
+		double reach = camera.pixelToMeter(margin);
+		double minX = getLogicalX(0) - reach;
+		double maxX = getLogicalX(getScreenWidth()) + reach;
+		double minY = getLogicalY(getScreenHeight()) - reach;
+		double maxY = getLogicalY(0) + reach;
+		Worm selectedWorm = getSelectedWorm();
+
+		visibleSprites.clear();
+		WormSpatialIndex index = getGameState().getSpatialIndex();
+		if (index != null
+				&& index.getWormsInRectangle(minX, minY, maxX, maxY,
+						visibleWorms) < sprites.size() / 2) {
+			// the index finds the worms by their current location, but the
+			// selected worm and moving worms may be shown elsewhere
+			if (selectedWorm != null && !visibleWorms.contains(selectedWorm)) {
+				visibleWorms.add(selectedWorm);
+			}
+			for (Worm worm : displacedWorms) {
+				if (!visibleWorms.contains(worm)) {
+					visibleWorms.add(worm);
+				}
+			}
+			Collections.sort(visibleWorms, wormOrderComparator);
+			for (int i = 0; i < visibleWorms.size(); i++) {
+				WormSprite sprite = getWormSprite(visibleWorms.get(i));
+				if (sprite != null) {
+					visibleSprites.add(sprite);
+				}
+			}
+		} else {
+			// most worms are visible, so the index would not help
+			for (WormSprite sprite : getSpritesOfType(WormSprite.class)) {
+				double x = sprite.getWorldX();
+				double y = sprite.getWorldY();
+				double r = sprite.getRadius();
+				if ((x + r >= minX && x - r <= maxX && y + r >= minY && y - r <= maxY)
+						|| sprite.getWorm() == selectedWorm) {
+					visibleSprites.add(sprite);
+				}
+			}
+		}
+		visibleWorms.clear();
+
+		for (int i = 0; i < visibleSprites.size(); i++) {
+			layoutSprite(visibleSprites.get(i));
+		}
+		return visibleSprites;
+	}
+
+	/**
+	 * Move the camera by the given distance (in pixels); the camera stops
+	 * following its worm, as if follow mode was toggled off
+	 */
+	public void panCamera(double dx, double dy) {
+		followWorm(null);
+		Camera camera = getCamera();
+		camera.pan(camera.pixelToMeter(dx), -camera.pixelToMeter(dy));
+		cameraChanged();
+	}
+
+	/**
+	 * Zoom the camera by the given factor, keeping the given position on the
+	 * screen (in pixels) in place
+	 */
+	public void zoomCamera(double factor, double screenX, double screenY) {
+		getCamera().zoom(factor, getLogicalX(screenX), getLogicalY(screenY));
+		cameraChanged();
+	}
+
+	/**
+	 * Keep the camera at the given worm; null stops following
+	 */
+	public void followWorm(Worm worm) {
+		Camera camera = getCamera();
+		WormSprite sprite = worm == null ? null : getWormSprite(worm);
+		if (sprite != null) {
+			camera.follow(worm);
+			camera.setPosition(sprite.getWorldX(), sprite.getWorldY());
+			addMessage("Following " + getFacade().getName(worm));
+		} else if (camera.getFollowedWorm() != null) {
+			camera.follow(null);
+			addMessage("Stopped following");
+		}
+		cameraChanged();
+	}
+
+	/**
+	 * Switch between painting all worms in full and the level of detail of
+	 * the options
+	 */
+	public void toggleLevelOfDetail() {
+		if (painter.getLevelOfDetail() == LevelOfDetail.NONE) {
+			painter.setLevelOfDetail(levelOfDetail);
+			addMessage("Level of detail: " + levelOfDetail);
+		} else {
+			painter.setLevelOfDetail(LevelOfDetail.NONE);
+			addMessage("Level of detail: off");
+		}
+		repaint();
+	}
+
+	/**
+	 * Show the origin of the world at the default scale; the camera stops
+	 * following its worm, as if follow mode was toggled off
+	 */
+	public void resetCamera() {
+		followWorm(null);
+		getCamera().reset();
+		cameraChanged();
+	}
+
+	/**
+	 * Everything on the screen moved
+	 */
+	private void cameraChanged() {
+		// only the bounds of the worms that change are computed again, so
+		// forget all bounds (rather than clearing a large map)
+		wormBounds = new IdentityHashMap<WormSprite, Rectangle>();
+		repaint();
+	}
+
+	/**
+	 * The area of the screen the given worm covered when it was last
+	 * repainted, or null if it is not known
+	 */
+	public Rectangle getWormBounds(WormSprite sprite) {
+		return wormBounds.get(sprite);
+	}
+
+	private void markDirty(Worm worm) {
+		if (worm != null) {
+			dirtyWorms.add(worm);
+		}
+	}
+
+	/**
+	 * Repaint only the parts of the screen that changed since the last tick:
+	 * the old and new area of each worm that changed, and the overlays.
+	 */
+	private void repaintChanges() {
+		Worm selectedWorm = getSelectedWorm();
+		if (selectedWorm != lastSelectedWorm) {
+			markDirty(lastSelectedWorm);
+			markDirty(selectedWorm);
+			lastSelectedWorm = selectedWorm;
+		}
+		if (!(getCurrentInputMode() instanceof DefaultInputMode)) {
+			// the overlay of the input mode is drawn around the selected worm
+			markDirty(selectedWorm);
+		}
+
+		for (Worm worm : dirtyWorms) {
+			WormSprite sprite = getWormSprite(worm);
+			if (sprite != null) {
+				layoutSprite(sprite);
+				Rectangle bounds = painter.getWormBounds(sprite);
+				Rectangle oldBounds = wormBounds.put(sprite, bounds);
+				repaint(oldBounds == null ? bounds : bounds.union(oldBounds));
+			}
+		}
+		dirtyWorms.clear();
+
+		boolean showingMessage = messageDisplay.hasMessages();
+		if (showingMessage || messageShown) {
+			repaint(new Rectangle(0, 0, getScreenWidth(),
+					PlayGameScreenPainter.MESSAGE_BAR_HEIGHT));
+		}
+		messageShown = showingMessage;
+
+		Rectangle overlayBounds = painter.getOverlayBounds();
+		if (overlayBounds != null) {
+			repaint(overlayBounds);
+		}
+	}
+
+	@Override
+	protected void switchInputMode(InputMode newMode) {
+		super.switchInputMode(newMode);
+		// clear the overlay of the previous mode
+		repaint();
 	}
 
 	private WormSprite createWormSprite(Worm worm) {
-		double x = getScreenX(getFacade().getX(worm));
-		double y = getScreenY(getFacade().getY(worm));
 		WormSprite sprite = new WormSprite(worm);
-		sprite.setCenterLocation(x, y);
+		sprite.setWorldLocation(getFacade().getX(worm), getFacade().getY(worm));
 		sprite.setDirection(getFacade().getOrientation(worm));
 		sprite.setRadius(getFacade().getRadius(worm));
+		layoutSprite(sprite);
 		return sprite;
 	}
 
@@ -351,23 +796,15 @@ public class PlayGameScreen extends Screen {
 		return new PlayGameScreenPainter(this);
 	}
 
+	/**
+	 * The sprites of the given type, as a live read-only view
+	 */
 	public <T extends Sprite> Set<T> getSpritesOfType(Class<T> type) {
-		Set<T> result = new HashSet<T>();
-		for (Sprite sprite : sprites) {
-			if (type.isInstance(sprite)) {
-				result.add(type.cast(sprite));
-			}
-		}
-		return result;
+		return sprites.getSpritesOfType(type);
 	}
 
 	public WormSprite getWormSprite(Worm worm) {
-		for (WormSprite sprite : getSpritesOfType(WormSprite.class)) {
-			if (worm != null && worm.equals(sprite.getWorm())) {
-				return sprite;
-			}
-		}
-		return null;
+		return sprites.getWormSprite(worm);
 	}
 
 	public void move(int nbSteps) {
@@ -430,8 +867,36 @@ public class PlayGameScreen extends Screen {
 		}
 	}
 
+	@Override
 	public void addMessage(String message) {
 		messageDisplay.addMessage(message);
+		wakeUp();
+	}
+
+	@Override
+	public void showWormAt(Worm worm, double x, double y) {
+		WormSprite sprite = getWormSprite(worm);
+		sprite.setWorldLocation(x, y);
+		if (x == getFacade().getX(worm) && y == getFacade().getY(worm)) {
+			displacedWorms.remove(worm);
+		} else {
+			displacedWorms.add(worm);
+		}
+		if (worm == getCamera().getFollowedWorm()) {
+			getCamera().setPosition(x, y);
+			cameraChanged();
+		}
+		layoutSprite(sprite);
+		markDirty(worm);
+	}
+
+	@Override
+	public void refreshWorm(Worm worm) {
+		WormSprite sprite = getWormSprite(worm);
+		sprite.setDirection(getFacade().getOrientation(worm));
+		sprite.setRadius(getFacade().getRadius(worm));
+		layoutSprite(sprite);
+		markDirty(worm);
 	}
 
 	public static PlayGameScreen create(WormsGUI gui, GameState gameState,
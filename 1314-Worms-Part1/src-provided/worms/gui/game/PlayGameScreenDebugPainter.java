@@ -1,18 +1,178 @@
 package worms.gui.game;
 
 import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.Shape;
+import java.util.Arrays;
 
+import worms.gui.Camera;
 import worms.gui.GUIUtils;
+import worms.gui.game.sprites.ImageAcceleration;
+import worms.gui.game.sprites.ImageCache;
+import worms.gui.game.sprites.SpriteAtlas;
 import worms.gui.game.sprites.WormSprite;
-import worms.model.ModelException;
+import worms.model.Worm;
 
 public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 
 	private static final int LOCATION_MARKER_SIZE = 4;
 
+	private static final Font DEBUG_INFO_FONT = new Font(Font.MONOSPACED,
+			Font.PLAIN, 12);
+	private static final int DEBUG_INFO_MARGIN = 5;
+
+	/**
+	 * Weight of the last frame in the average frame times
+	 */
+	private static final double FRAME_TIME_WEIGHT = 0.1;
+
+	/**
+	 * Average time (in ms) to paint the worms, per image acceleration mode;
+	 * NaN for modes that were not used yet
+	 */
+	private final double[] frameTimes = new double[ImageAcceleration.Mode
+			.values().length];
+
+	/**
+	 * The area covered by the debug information when it was last drawn
+	 */
+	private Rectangle debugInfoBounds;
+
+	/**
+	 * Reach of the longest jump trajectory that was sampled (in worm-meter)
+	 */
+	private double maxJumpReach = 0;
+
 	public PlayGameScreenDebugPainter(PlayGameScreen screen) {
 		super(screen);
+		Arrays.fill(frameTimes, Double.NaN);
+	}
+
+	@Override
+	public void paint(Graphics2D g) {
+		ImageAcceleration.Mode mode = ImageAcceleration.getMode();
+		long start = System.nanoTime();
+		super.paint(g);
+		recordFrameTime(mode, (System.nanoTime() - start) / 1e6);
+		drawDebugInfo(g);
+	}
+
+	private void recordFrameTime(ImageAcceleration.Mode mode, double time) {
+		double average = frameTimes[mode.ordinal()];
+		if (Double.isNaN(average)) {
+			frameTimes[mode.ordinal()] = time;
+		} else {
+			frameTimes[mode.ordinal()] = average + FRAME_TIME_WEIGHT
+					* (time - average);
+		}
+	}
+
+	@Override
+	protected boolean drawsJumpMarkers(WormSprite sprite) {
+		return true;
+	}
+
+	@Override
+	protected int getNbJumpSamples(double jumpTime) {
+		return 1 + (int) (jumpTime / JUMP_MARKER_TIME_DISTANCE * 2);
+	}
+
+	@Override
+	protected JumpTrajectory getJumpTrajectory(Worm worm) {
+		JumpTrajectory trajectory = super.getJumpTrajectory(worm);
+		maxJumpReach = Math.max(maxJumpReach, trajectory.getReach());
+		return trajectory;
+	}
+
+	/**
+	 * The jump markers of all worms are drawn, so worms outside the screen
+	 * are painted if their trajectory may reach into it, for the trajectories
+	 * sampled so far
+	 */
+	@Override
+	protected double getWormMargin() {
+		return Math.max(super.getWormMargin(), meterToPixels(maxJumpReach)
+				+ JUMP_MARKER_SIZE + BOUNDS_MARGIN);
+	}
+
+	@Override
+	public Rectangle getWormBounds(WormSprite sprite) {
+		Rectangle bounds = super.getWormBounds(sprite);
+		int reach = LOCATION_MARKER_SIZE + BOUNDS_MARGIN;
+		int x = (int) getScreenX(getFacade().getX(sprite.getWorm()));
+		int y = (int) getScreenY(getFacade().getY(sprite.getWorm()));
+		bounds.add(new Rectangle(x - reach, y - reach, 2 * reach, 2 * reach));
+		return bounds;
+	}
+
+	@Override
+	public Rectangle getOverlayBounds() {
+		return debugInfoBounds;
+	}
+
+	private String getFrameTimes() {
+		StringBuilder result = new StringBuilder("frame time (A to switch):");
+		for (ImageAcceleration.Mode mode : ImageAcceleration.Mode.values()) {
+			result.append(mode == ImageAcceleration.getMode() ? " *" : " ");
+			result.append(mode).append(' ');
+			double time = frameTimes[mode.ordinal()];
+			result.append(Double.isNaN(time) ? "-" : String.format("%.2f ms",
+					time));
+		}
+		return result.toString();
+	}
+
+	protected void drawDebugInfo(Graphics2D g) {
+		ImageCache imageCache = ImageCache.getDefault();
+		SpriteAtlas atlas = SpriteAtlas.getDefault();
+		drawDebugLines(g, "image cache: " + imageCache.getNbHits()
+				+ " hits, " + imageCache.getNbMisses() + " misses",
+				"sprite atlas: " + atlas.size() + " images, "
+						+ (atlas.getNbBytes() >> 10) + " KiB, "
+						+ atlas.getNbEvictions() + " evictions",
+				getFrameTimes(), getTierCounts(), getCameraInfo());
+	}
+
+	private String getCameraInfo() {
+		Camera camera = getScreen().getCamera();
+		Worm worm = camera.getFollowedWorm();
+		return String.format("camera (F to follow): %.1f, %.1f at %.1f px/m, ",
+				camera.getX(), camera.getY(), camera.getScale())
+				+ (worm == null ? "not following" : "following "
+						+ getFacade().getName(worm));
+	}
+
+	private String getTierCounts() {
+		StringBuilder result = new StringBuilder("worms by detail (L to toggle):");
+		for (LevelOfDetail.Tier tier : LevelOfDetail.Tier.values()) {
+			result.append(' ').append(tier).append(' ')
+					.append(getNbWormsInTier(tier));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Draw the given lines of text in the lower left corner of the screen
+	 */
+	protected void drawDebugLines(Graphics2D g, String... lines) {
+		Font font = g.getFont();
+		g.setFont(DEBUG_INFO_FONT);
+		g.setColor(Color.YELLOW);
+		int lineHeight = g.getFontMetrics().getHeight();
+		int y = getScreen().getScreenHeight() - DEBUG_INFO_MARGIN
+				- (lines.length - 1) * lineHeight;
+		int width = 0;
+		for (String line : lines) {
+			g.drawString(line, DEBUG_INFO_MARGIN, y);
+			width = Math.max(width, g.getFontMetrics().stringWidth(line));
+			y += lineHeight;
+		}
+		g.setFont(font);
+		int height = (lines.length + 1) * lineHeight + DEBUG_INFO_MARGIN;
+		debugInfoBounds = new Rectangle(0, getScreen().getScreenHeight()
+				- height, width + 2 * DEBUG_INFO_MARGIN, height);
 	}
 
 	@Override
@@ -32,27 +192,19 @@ public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 
 	@Override
 	protected void drawJumpMarkers(WormSprite sprite) {
-		try {
-			double time = getFacade().getJumpTime(sprite.getWorm());
-			double[] prevXY = getFacade().getJumpStep(sprite.getWorm(), 0);
-			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE * 2);
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(sprite.getWorm(), dt);
-				if (xy != null && prevXY != null) {
-					double jumpX = getScreenX(xy[0]);
-					double jumpY = getScreenY(xy[1]);
-					graphics.setColor(JUMP_MARKER_COLOR);
-					graphics.drawLine((int) getScreenX(prevXY[0]),
-							(int) getScreenY(prevXY[1]), (int) jumpX,
-							(int) jumpY);
-					prevXY = xy;
-					drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
-							JUMP_MARKER_COLOR);
-				}
-			}
-		} catch (ModelException e) {
-			// cannot jump; draw nothing
+		// no points if the worm cannot jump
+		JumpTrajectory trajectory = getJumpTrajectory(sprite.getWorm());
+		double prevX = getScreenX(getFacade().getX(sprite.getWorm()));
+		double prevY = getScreenY(getFacade().getY(sprite.getWorm()));
+		for (int i = 0; i < trajectory.getNbPoints(); i++) {
+			double jumpX = getScreenX(trajectory.getX(i));
+			double jumpY = getScreenY(trajectory.getY(i));
+			graphics.setColor(JUMP_MARKER_COLOR);
+			graphics.drawLine((int) prevX, (int) prevY, (int) jumpX,
+					(int) jumpY);
+			prevX = jumpX;
+			prevY = jumpY;
+			drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE, JUMP_MARKER_COLOR);
 		}
 	}
 
@@ -74,13 +226,13 @@ public class PlayGameScreenDebugPainter extends PlayGameScreenPainter {
 		double y = sprite.getCenterY();
 
 		graphics.setColor(Color.YELLOW);
-		Shape circle = GUIUtils.circleAt(x, y, GUIUtils.meterToPixels(r));
+		Shape circle = GUIUtils.circleAt(x, y, meterToPixels(r));
 		graphics.draw(circle);
 
 	}
 
 	protected void drawDirectionLine(WormSprite sprite) {
-		double r = GUIUtils.meterToPixels(getFacade().getRadius(
+		double r = meterToPixels(getFacade().getRadius(
 				sprite.getWorm()));
 		double x = sprite.getCenterX();
 		double y = sprite.getCenterY();
@@ -2,17 +2,29 @@ package worms.gui.game;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import worms.gui.GUIUtils;
 import worms.gui.GameState;
+import worms.gui.game.sprites.ImageAcceleration;
 import worms.gui.game.sprites.WormSprite;
 import worms.model.IFacade;
-import worms.model.ModelException;
+import worms.model.Worm;
 
 public class PlayGameScreenPainter {
 
@@ -48,14 +60,116 @@ public class PlayGameScreenPainter {
 			0x60a7130e, true);
 	protected static final Color MESSAGE_TEXT_COLOR = Color.WHITE;
 	protected static final Color JUMP_MARKER_COLOR = Color.GRAY;
+	protected static final Color WORM_DOT_COLOR = new Color(0xe0906c);
 
 	protected static final int JUMP_MARKER_SIZE = 1;
 	protected static final double JUMP_MARKER_TIME_DISTANCE = 0.1; // worm-seconds
 	protected static final double DIRECTION_INDICATOR_SIZE = 10;
 
+	protected static final int MESSAGE_BAR_HEIGHT = 120;
+
+	/**
+	 * Margin (in pixels) around the bounds of a worm, for anti-aliasing and
+	 * rounding
+	 */
+	protected static final int BOUNDS_MARGIN = 2;
+
+	/**
+	 * Maximal number of name labels that are kept as images
+	 */
+	protected static final int MAX_CACHED_LABELS = 4096;
+
 	protected Graphics2D graphics;
 	private final PlayGameScreen screen;
 
+	/**
+	 * A name label, drawn into an image
+	 */
+	private static class Label {
+		private final BufferedImage image;
+		private final double textWidth;
+		private final double textHeight;
+		private long lastFrame;
+
+		public Label(BufferedImage image, double textWidth, double textHeight) {
+			this.image = image;
+			this.textWidth = textWidth;
+			this.textHeight = textHeight;
+		}
+	}
+
+	/**
+	 * The labels of the names that were drawn most recently, in access order,
+	 * least recently used first; all drawn with the same font
+	 */
+	private final LinkedHashMap<String, Label> labels = new LinkedHashMap<String, Label>(
+			16, 0.75f, true);
+	private Font labelFont;
+
+	/**
+	 * Size of the largest name label that was measured (in pixels)
+	 */
+	private double maxLabelWidth = 0;
+	private double maxLabelHeight = 0;
+
+	/**
+	 * Action bars, drawn into images, by the width of their filled part (in
+	 * pixels)
+	 */
+	private final BufferedImage[] actionBars = new BufferedImage[(int) ACTION_BAR_WIDTH + 1];
+
+	private long frame = 0;
+
+	/**
+	 * The jump trajectory of a worm, sampled in world coordinates, together
+	 * with the version of the worm it was sampled for
+	 */
+	protected static class JumpTrajectory {
+		private long version = -1;
+
+		private double[] points = new double[0];
+		private int nbPoints = 0;
+		private double reach = 0;
+
+		/**
+		 * The number of points, 0 if the worm cannot jump
+		 */
+		public int getNbPoints() {
+			return nbPoints;
+		}
+
+		/**
+		 * The largest horizontal or vertical distance (in worm-meter) from
+		 * the worm to a point
+		 */
+		public double getReach() {
+			return reach;
+		}
+
+		public double getX(int i) {
+			return points[2 * i];
+		}
+
+		public double getY(int i) {
+			return points[2 * i + 1];
+		}
+	}
+
+	private final Map<Worm, JumpTrajectory> jumpTrajectories = new IdentityHashMap<Worm, JumpTrajectory>();
+
+	private LevelOfDetail levelOfDetail = LevelOfDetail.DEFAULT;
+
+	/**
+	 * The number of worms painted in each tier of detail in the last frame
+	 */
+	private final int[] nbWormsInTier = new int[LevelOfDetail.Tier.values().length];
+
+	/**
+	 * The dots of the worms in the lowest tier of detail, filled at once at
+	 * the end of the frame
+	 */
+	private final Path2D.Double dots = new Path2D.Double();
+
 	public PlayGameScreenPainter(PlayGameScreen screen) {
 		this.screen = screen;
 	}
@@ -74,17 +188,117 @@ public class PlayGameScreenPainter {
 
 	public void paint(Graphics2D g) {
 		this.graphics = g;
-
-		for (WormSprite sprite : getScreen().getSpritesOfType(WormSprite.class)) {
-			if (sprite.getWorm() == getState().getSelectedWorm()) {
-				drawSelection(sprite);
+		frame++;
+		Arrays.fill(nbWormsInTier, 0);
+
+		Rectangle clip = g.getClipBounds();
+		List<WormSprite> sprites = getScreen().getVisibleWormSprites(
+				getWormMargin());
+		for (int i = 0; i < sprites.size(); i++) {
+			WormSprite sprite = sprites.get(i);
+			if (clip != null) {
+				Rectangle bounds = getScreen().getWormBounds(sprite);
+				if (bounds != null && !bounds.intersects(clip)) {
+					continue;
+				}
+			}
+			LevelOfDetail.Tier tier = getTier(sprite);
+			nbWormsInTier[tier.ordinal()]++;
+			switch (tier) {
+			case Full:
+				if (sprite.getWorm() == getState().getSelectedWorm()) {
+					drawSelection(sprite);
+				}
+				paintWorm(sprite);
+				break;
+			case Sprite:
+				sprite.draw(graphics);
+				break;
+			case Dot:
+				addDot(sprite);
+				break;
 			}
-			paintWorm(sprite);
 		}
+		fillDots();
+		pruneJumpTrajectories();
 
 		this.graphics = null;
 	}
 
+	/**
+	 * Forget the trajectories of the worms that no longer have a sprite, once
+	 * there are more trajectories than worm sprites, so that no more
+	 * trajectories are kept than there are worm sprites
+	 */
+	private void pruneJumpTrajectories() {
+		if (jumpTrajectories.size() <= getScreen().getSpritesOfType(
+				WormSprite.class).size()) {
+			return;
+		}
+		Iterator<Worm> it = jumpTrajectories.keySet().iterator();
+		while (it.hasNext()) {
+			if (getScreen().getWormSprite(it.next()) == null) {
+				it.remove();
+			}
+		}
+	}
+
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+
+	public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+		this.levelOfDetail = levelOfDetail;
+	}
+
+	/**
+	 * The tier of detail in which the given worm is painted; the selected
+	 * worm is always painted in full
+	 */
+	protected LevelOfDetail.Tier getTier(WormSprite sprite) {
+		if (sprite.getWorm() == getState().getSelectedWorm()) {
+			return LevelOfDetail.Tier.Full;
+		}
+		return levelOfDetail.getTier(meterToPixels(sprite.getRadius()));
+	}
+
+	/**
+	 * The number of worms that were painted in the given tier of detail in the
+	 * last frame
+	 */
+	public int getNbWormsInTier(LevelOfDetail.Tier tier) {
+		return nbWormsInTier[tier.ordinal()];
+	}
+
+	private void addDot(WormSprite sprite) {
+		// at least one pixel, about the size of the sprite
+		double size = Math.max(1, 1.6 * meterToPixels(sprite.getRadius()));
+		double x = Math.floor(sprite.getCenterX() - size / 2);
+		double y = Math.floor(sprite.getCenterY() - size / 2);
+		dots.moveTo(x, y);
+		dots.lineTo(x + size, y);
+		dots.lineTo(x + size, y + size);
+		dots.lineTo(x, y + size);
+		dots.closePath();
+	}
+
+	private void fillDots() {
+		if (nbWormsInTier[LevelOfDetail.Tier.Dot.ordinal()] == 0) {
+			return;
+		}
+		Object antialiasing = graphics
+				.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+				RenderingHints.VALUE_ANTIALIAS_OFF);
+		graphics.setColor(WORM_DOT_COLOR);
+		graphics.fill(dots);
+		if (antialiasing != null) {
+			graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+					antialiasing);
+		}
+		dots.reset();
+	}
+
 	protected double getScreenX(double x) {
 		return getScreen().getScreenX(x);
 	}
@@ -93,6 +307,10 @@ public class PlayGameScreenPainter {
 		return getScreen().getScreenY(y);
 	}
 
+	protected double meterToPixels(double m) {
+		return getScreen().getCamera().meterToPixels(m);
+	}
+
 	protected void paintWorm(WormSprite sprite) {
 
 		sprite.draw(graphics);
@@ -107,8 +325,98 @@ public class PlayGameScreenPainter {
 		}
 	}
 
+	/**
+	 * The area of the screen that painting the given worm may touch: its
+	 * sprite, name label and action bar, and the markers around it
+	 */
+	public Rectangle getWormBounds(WormSprite sprite) {
+		double x = sprite.getCenterX();
+		double y = sprite.getCenterY();
+		double r = meterToPixels(getFacade().getRadius(
+				sprite.getWorm()));
+
+		double width = sprite.getWidth(null);
+		double height = sprite.getHeight(null);
+		Rectangle2D bounds = new Rectangle2D.Double(x - width / 2, y - height
+				/ 2, width, height);
+
+		double markerReach = r + DIRECTION_INDICATOR_SIZE;
+		bounds.add(new Rectangle2D.Double(x - markerReach, y - markerReach,
+				2 * markerReach, 2 * markerReach));
+
+		String name = getFacade().getName(sprite.getWorm());
+		if (name == null) {
+			name = "(null)";
+		}
+		Rectangle2D text = getLabelFontMetrics().getStringBounds(name, null);
+		recordLabelSize(text);
+		double nameY = y - r - TEXT_BAR_V_OFFSET;
+		bounds.add(new Rectangle2D.Double(x - text.getWidth() / 2
+				- TEXT_BAR_H_MARGIN, nameY - text.getHeight()
+				- TEXT_BAR_V_MARGIN, text.getWidth() + 2 * TEXT_BAR_H_MARGIN,
+				text.getHeight() + 2 * TEXT_BAR_V_MARGIN));
+
+		bounds.add(new Rectangle2D.Double(x - ACTION_BAR_WIDTH / 2, y + r,
+				ACTION_BAR_WIDTH, ACTION_BAR_HEIGHT));
+
+		if (drawsJumpMarkers(sprite)) {
+			JumpTrajectory trajectory = getJumpTrajectory(sprite.getWorm());
+			for (int i = 0; i < trajectory.getNbPoints(); i++) {
+				bounds.add(new Rectangle2D.Double(
+						getScreenX(trajectory.getX(i)) - JUMP_MARKER_SIZE,
+						getScreenY(trajectory.getY(i)) - JUMP_MARKER_SIZE,
+						2 * JUMP_MARKER_SIZE, 2 * JUMP_MARKER_SIZE));
+			}
+		}
+
+		Rectangle result = bounds.getBounds();
+		result.grow(BOUNDS_MARGIN, BOUNDS_MARGIN);
+		return result;
+	}
+
+	private FontMetrics getLabelFontMetrics() {
+		return getScreen().getPanel().getFontMetrics(
+				getScreen().getPanel().getFont());
+	}
+
+	/**
+	 * The distance (in pixels) around its circle that painting a worm may
+	 * reach, apart from its jump markers, for the names measured so far
+	 */
+	protected double getWormMargin() {
+		double labelReach = Math.max(maxLabelWidth / 2 + TEXT_BAR_H_MARGIN,
+				maxLabelHeight + 2 * TEXT_BAR_V_MARGIN + TEXT_BAR_V_OFFSET);
+		double markerReach = Math.max(DIRECTION_INDICATOR_SIZE,
+				ACTION_BAR_WIDTH / 2 + 1);
+		return Math.max(labelReach, markerReach) + BOUNDS_MARGIN;
+	}
+
+	private void recordLabelSize(Rectangle2D textBounds) {
+		maxLabelWidth = Math.max(maxLabelWidth, textBounds.getWidth());
+		maxLabelHeight = Math.max(maxLabelHeight, textBounds.getHeight());
+	}
+
+	/**
+	 * Whether the jump markers of the given worm are painted
+	 */
+	protected boolean drawsJumpMarkers(WormSprite sprite) {
+		return getState().getSelectedWorm() == sprite.getWorm();
+	}
+
+	protected int getNbJumpSamples(double jumpTime) {
+		return 1 + (int) (jumpTime / JUMP_MARKER_TIME_DISTANCE);
+	}
+
+	/**
+	 * The area of the screen covered by overlays that change on every frame,
+	 * or null if there are none
+	 */
+	public Rectangle getOverlayBounds() {
+		return null;
+	}
+
 	protected void drawName(WormSprite sprite) {
-		final double radius = GUIUtils.meterToPixels(getFacade().getRadius(
+		final double radius = meterToPixels(getFacade().getRadius(
 				sprite.getWorm()));
 		String name = getFacade().getName(sprite.getWorm());
 
@@ -116,47 +424,142 @@ public class PlayGameScreenPainter {
 			name = "(null)";
 		}
 
+		Label label = getLabel(name);
+		if (label == null) {
+			// too many labels on screen to keep them all
+			Rectangle2D bounds = graphics.getFontMetrics().getStringBounds(
+					name, graphics);
+			recordLabelSize(bounds);
+			drawLabel(graphics, name, bounds.getWidth(), bounds.getHeight(),
+					sprite.getCenterX() - bounds.getWidth() / 2
+							- TEXT_BAR_H_MARGIN, sprite.getCenterY() - radius
+							- TEXT_BAR_V_OFFSET - bounds.getHeight()
+							- TEXT_BAR_V_MARGIN);
+			return;
+		}
+
+		double x = sprite.getCenterX() - label.textWidth / 2
+				- TEXT_BAR_H_MARGIN;
+		double y = sprite.getCenterY() - radius - TEXT_BAR_V_OFFSET
+				- label.textHeight - TEXT_BAR_V_MARGIN;
+		ImageAcceleration.drawImage(graphics, label.image,
+				(int) Math.round(x), (int) Math.round(y));
+	}
+
+	/**
+	 * The label of the given name, drawn when it is first needed. Returns null
+	 * if all kept labels were already drawn in this frame, so none can make
+	 * room.
+	 */
+	private Label getLabel(String name) {
+		if (!graphics.getFont().equals(labelFont)) {
+			labels.clear();
+			labelFont = graphics.getFont();
+		}
+		Label label = labels.get(name);
+		if (label == null) {
+			if (labels.size() >= MAX_CACHED_LABELS) {
+				Iterator<Map.Entry<String, Label>> eldest = labels.entrySet()
+						.iterator();
+				if (eldest.next().getValue().lastFrame == frame) {
+					return null;
+				}
+				eldest.remove();
+			}
+			label = createLabel(name);
+			labels.put(name, label);
+		}
+		label.lastFrame = frame;
+		return label;
+	}
+
+	private Label createLabel(String name) {
 		Rectangle2D bounds = graphics.getFontMetrics().getStringBounds(name,
 				graphics);
-		final double stringWidth = bounds.getWidth();
-		final double stringHeight = bounds.getHeight();
-
-		final double x = sprite.getCenterX() - stringWidth / 2;
-		final double y = sprite.getCenterY() - radius - TEXT_BAR_V_OFFSET;
+		recordLabelSize(bounds);
+		double width = bounds.getWidth() + 2 * TEXT_BAR_H_MARGIN;
+		double height = bounds.getHeight() + 2 * TEXT_BAR_V_MARGIN;
+		BufferedImage image = new BufferedImage((int) Math.ceil(width),
+				(int) Math.ceil(height), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D imageGraphics = createImageGraphics(image);
+		drawLabel(imageGraphics, name, bounds.getWidth(), bounds.getHeight(),
+				0, 0);
+		imageGraphics.dispose();
+		return new Label(image, bounds.getWidth(), bounds.getHeight());
+	}
 
-		RoundRectangle2D nameBarFill = new RoundRectangle2D.Double(x
-				- TEXT_BAR_H_MARGIN, y - stringHeight - TEXT_BAR_V_MARGIN,
+	/**
+	 * Draw the label of the given name with its upper left corner at the given
+	 * position
+	 */
+	private void drawLabel(Graphics2D g, String name, double stringWidth,
+			double stringHeight, double x, double y) {
+		RoundRectangle2D nameBarFill = new RoundRectangle2D.Double(x, y,
 				stringWidth + 2 * TEXT_BAR_H_MARGIN, stringHeight + 2
 						* TEXT_BAR_V_MARGIN, 5, 5);
-		graphics.setColor(NAME_BAR_BACKGROUND);
-		graphics.fill(nameBarFill);
+		g.setColor(NAME_BAR_BACKGROUND);
+		g.fill(nameBarFill);
+
+		g.setColor(NAME_BAR_TEXT);
 
-		graphics.setColor(NAME_BAR_TEXT);
+		g.drawString(name, (float) (x + TEXT_BAR_H_MARGIN), (float) (y
+				+ stringHeight + TEXT_BAR_V_MARGIN));
+	}
 
-		graphics.drawString(name, (float) x, (float) (y));
+	/**
+	 * A graphics context for drawing into the given image with the same font
+	 * and hints as the screen
+	 */
+	private Graphics2D createImageGraphics(BufferedImage image) {
+		Graphics2D result = image.createGraphics();
+		result.setRenderingHints(graphics.getRenderingHints());
+		result.setFont(graphics.getFont());
+		return result;
 	}
 
 	protected void drawActionBar(WormSprite sprite) {
 		double x = sprite.getCenterX();
 		double y = sprite.getCenterY();
-		double radius = GUIUtils.meterToPixels(getFacade().getRadius(
+		double radius = meterToPixels(getFacade().getRadius(
 				sprite.getWorm()));
 
 		double actionPoints = getFacade().getActionPoints(sprite.getWorm());
 		double maxActionPoints = getFacade().getMaxActionPoints(
 				sprite.getWorm());
 
-		RoundRectangle2D actionBarFill = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + radius, actionPoints
-				* ACTION_BAR_WIDTH / maxActionPoints, ACTION_BAR_HEIGHT, 5, 5);
-		graphics.setColor(ACTION_POINTS_COLOR);
-		graphics.fill(actionBarFill);
+		int fillWidth = 0;
+		if (maxActionPoints > 0) {
+			fillWidth = (int) Math.round(Math.min(1, actionPoints
+					/ maxActionPoints)
+					* ACTION_BAR_WIDTH);
+		}
+		// the outline is one pixel wider on each side
+		ImageAcceleration.drawImage(graphics, getActionBar(fillWidth),
+				(int) Math.round(x - ACTION_BAR_WIDTH / 2) - 1,
+				(int) Math.round(y + radius) - 1);
+	}
 
-		RoundRectangle2D actionBar = new RoundRectangle2D.Double(x
-				- ACTION_BAR_WIDTH / 2, y + radius, ACTION_BAR_WIDTH,
-				ACTION_BAR_HEIGHT, 5, 5);
-		graphics.setColor(BAR_OUTLINE_COLOR);
-		graphics.draw(actionBar);
+	private BufferedImage getActionBar(int fillWidth) {
+		BufferedImage image = actionBars[fillWidth];
+		if (image == null) {
+			image = new BufferedImage((int) ACTION_BAR_WIDTH + 2,
+					(int) ACTION_BAR_HEIGHT + 2, BufferedImage.TYPE_INT_ARGB);
+			Graphics2D imageGraphics = createImageGraphics(image);
+
+			RoundRectangle2D actionBarFill = new RoundRectangle2D.Double(1, 1,
+					fillWidth, ACTION_BAR_HEIGHT, 5, 5);
+			imageGraphics.setColor(ACTION_POINTS_COLOR);
+			imageGraphics.fill(actionBarFill);
+
+			RoundRectangle2D actionBar = new RoundRectangle2D.Double(1, 1,
+					ACTION_BAR_WIDTH, ACTION_BAR_HEIGHT, 5, 5);
+			imageGraphics.setColor(BAR_OUTLINE_COLOR);
+			imageGraphics.draw(actionBar);
+
+			imageGraphics.dispose();
+			actionBars[fillWidth] = image;
+		}
+		return image;
 	}
 
 	protected void drawSelection(WormSprite sprite) {
@@ -166,14 +569,14 @@ public class PlayGameScreenPainter {
 
 		graphics.setColor(SELECTION_FILL_COLOR);
 
-		Shape circle = GUIUtils.circleAt(x, y, GUIUtils.meterToPixels(r));
+		Shape circle = GUIUtils.circleAt(x, y, meterToPixels(r));
 		graphics.fill(circle);
 	}
 
 	protected void drawDirectionIndicator(WormSprite sprite) {
 		double x = sprite.getCenterX();
 		double y = sprite.getCenterY();
-		double r = GUIUtils.meterToPixels(getFacade().getRadius(
+		double r = meterToPixels(getFacade().getRadius(
 				sprite.getWorm()));
 		r += DIRECTION_INDICATOR_SIZE / 2;
 		double direction = GUIUtils.restrictDirection(getFacade()
@@ -192,7 +595,7 @@ public class PlayGameScreenPainter {
 			double angle) {
 		double x = sprite.getCenterX();
 		double y = sprite.getCenterY();
-		double r = GUIUtils.meterToPixels(getFacade().getRadius(
+		double r = meterToPixels(getFacade().getRadius(
 				sprite.getWorm()));
 		r += DIRECTION_INDICATOR_SIZE / 2;
 		double direction = GUIUtils.restrictDirection(getFacade()
@@ -212,22 +615,51 @@ public class PlayGameScreenPainter {
 	}
 
 	protected void drawJumpMarkers(WormSprite sprite) {
-		try {
-			double time = getFacade().getJumpTime(sprite.getWorm());
-			int n = 1 + (int) (time / JUMP_MARKER_TIME_DISTANCE);
-			for (int i = 1; i <= n; i++) {
-				double dt = i * time / n;
-				double[] xy = getFacade().getJumpStep(sprite.getWorm(), dt);
-				if (xy != null) {
-					double jumpX = getScreenX(xy[0]);
-					double jumpY = getScreenY(xy[1]);
-					drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE,
-							JUMP_MARKER_COLOR);
-				}
+		// no points if the worm cannot jump
+		JumpTrajectory trajectory = getJumpTrajectory(sprite.getWorm());
+		for (int i = 0; i < trajectory.getNbPoints(); i++) {
+			double jumpX = getScreenX(trajectory.getX(i));
+			double jumpY = getScreenY(trajectory.getY(i));
+			drawCrossMarker(jumpX, jumpY, JUMP_MARKER_SIZE, JUMP_MARKER_COLOR);
+		}
+	}
+
+	/**
+	 * The jump trajectory of the given worm; it is only sampled again when
+	 * the version of the worm changed.
+	 */
+	protected JumpTrajectory getJumpTrajectory(Worm worm) {
+		IFacade facade = getFacade();
+		long version = facade.getVersion(worm);
+
+		JumpTrajectory trajectory = jumpTrajectories.get(worm);
+		if (trajectory == null) {
+			trajectory = new JumpTrajectory();
+			jumpTrajectories.put(worm, trajectory);
+		} else if (trajectory.version == version) {
+			return trajectory;
+		}
+
+		trajectory.version = version;
+		if (facade.canJump(worm)) {
+			int n = getNbJumpSamples(facade.getJumpTime(worm));
+			if (trajectory.points.length < 2 * n) {
+				trajectory.points = new double[2 * n];
 			}
-		} catch (ModelException e) {
-			// cannot jump; draw nothing
+			trajectory.nbPoints = facade.sampleJumpTrajectory(worm, n,
+					trajectory.points);
+		} else {
+			trajectory.nbPoints = 0;
+		}
+		double x = facade.getX(worm);
+		double y = facade.getY(worm);
+		trajectory.reach = 0;
+		for (int i = 0; i < trajectory.nbPoints; i++) {
+			trajectory.reach = Math.max(trajectory.reach, Math.max(
+					Math.abs(trajectory.getX(i) - x),
+					Math.abs(trajectory.getY(i) - y)));
 		}
+		return trajectory;
 	}
 
 	protected void drawCrossMarker(double x, double y, int size, Color color) {
@@ -238,7 +670,7 @@ public class PlayGameScreenPainter {
 
 	void paintNameEntry(Graphics2D g, String enteredName) {
 		g.setColor(RENAME_BACKGROUND_COLOR);
-		g.fillRect(0, 0, getScreen().getScreenWidth(), 120);
+		g.fillRect(0, 0, getScreen().getScreenWidth(), MESSAGE_BAR_HEIGHT);
 		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
 		g.setColor(RENAME_TEXT_COLOR);
 		GUIUtils.drawCenteredString(g, "Enter new name for worm: "
@@ -247,7 +679,7 @@ public class PlayGameScreenPainter {
 
 	void paintMessage(Graphics2D g, String message) {
 		g.setColor(MESSAGE_BACKGROUND_COLOR);
-		g.fillRect(0, 0, getScreen().getScreenWidth(), 120);
+		g.fillRect(0, 0, getScreen().getScreenWidth(), MESSAGE_BAR_HEIGHT);
 		g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 20));
 		g.setColor(MESSAGE_TEXT_COLOR);
 		GUIUtils.drawCenteredString(g, message, getScreen().getScreenWidth(),
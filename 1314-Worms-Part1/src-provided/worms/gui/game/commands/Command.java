@@ -1,24 +1,24 @@
 package worms.gui.game.commands;
 
-import worms.gui.game.PlayGameScreen;
+import worms.gui.game.GameView;
 import worms.model.IFacade;
 
 public abstract class Command {
 
 	private final IFacade facade;
-	private final PlayGameScreen screen;
+	private final GameView view;
 
 	private double elapsedTime;
 	private boolean cancelled = false;
 	private boolean started = false;
 
-	protected Command(IFacade facade, PlayGameScreen screen) {
+	protected Command(IFacade facade, GameView view) {
 		this.facade = facade;
-		this.screen = screen;
+		this.view = view;
 	}
 
-	protected PlayGameScreen getScreen() {
-		return screen;
+	protected GameView getView() {
+		return view;
 	}
 
 	protected IFacade getFacade() {
@@ -20,6 +20,10 @@ public class CommandProcessor {
 		}
 	}
 
+	public boolean isIdle() {
+		return executingCommand == null && commandQueue.isEmpty();
+	}
+
 	public void advanceCommandQueue(double timeDelta) {
 		if (executingCommand == null) {
 			startNextCommand();
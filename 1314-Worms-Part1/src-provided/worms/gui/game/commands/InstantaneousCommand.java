@@ -1,11 +1,11 @@
 package worms.gui.game.commands;
 
-import worms.gui.game.PlayGameScreen;
+import worms.gui.game.GameView;
 import worms.model.IFacade;
 
 public abstract class InstantaneousCommand extends Command {
-	protected InstantaneousCommand(IFacade facade, PlayGameScreen screen) {
-		super(facade, screen);
+	protected InstantaneousCommand(IFacade facade, GameView view) {
+		super(facade, view);
 	}
 
 	@Override
@@ -1,7 +1,6 @@
 package worms.gui.game.commands;
 
-import worms.gui.game.PlayGameScreen;
-import worms.gui.game.sprites.WormSprite;
+import worms.gui.game.GameView;
 import worms.model.IFacade;
 import worms.model.ModelException;
 import worms.model.Worm;
@@ -10,8 +9,8 @@ public class Jump extends Command {
 	private final Worm worm;
 	private boolean finished = false;
 
-	public Jump(IFacade facade, Worm worm, PlayGameScreen screen) {
-		super(facade, screen);
+	public Jump(IFacade facade, Worm worm, GameView view) {
+		super(facade, view);
 		this.worm = worm;
 	}
 
@@ -21,7 +20,7 @@ public class Jump extends Command {
 
 	@Override
 	protected boolean canExecute() {
-		return worm != null;
+		return worm != null && getFacade().canJump(worm);
 	}
 
 	@Override
@@ -31,7 +30,7 @@ public class Jump extends Command {
 	
 	@Override
 	protected void executionCancelled() {
-		getScreen().addMessage("This worm cannot jump :(");
+		getView().addMessage("This worm cannot jump :(");
 	}
 
 	private double getTotalDuration() {
@@ -40,22 +39,17 @@ public class Jump extends Command {
 
 	@Override
 	protected void doUpdate(double dt) {
-		WormSprite sprite = getScreen().getWormSprite(getWorm());
-
 		try {
 			if (getElapsedTime() >= getTotalDuration()) {
 				getFacade().jump(worm);
 				finished = true;
-				double x = getScreen().getScreenX(getFacade().getX(getWorm()));
-				double y = getScreen().getScreenY(getFacade().getY(getWorm()));
-
-				sprite.setCenterLocation(x, y);
+				getView().showWormAt(getWorm(), getFacade().getX(getWorm()),
+						getFacade().getY(getWorm()));
 			} else {
 				double[] xy = getFacade().getJumpStep(getWorm(),
 						getElapsedTime());
 
-				sprite.setCenterLocation(getScreen().getScreenX(xy[0]),
-						getScreen().getScreenY(xy[1]));
+				getView().showWormAt(getWorm(), xy[0], xy[1]);
 			}
 		} catch (ModelException e) {
 			finished = true;
@@ -1,8 +1,7 @@
 package worms.gui.game.commands;
 
 import worms.gui.GUIConstants;
-import worms.gui.game.PlayGameScreen;
-import worms.gui.game.sprites.WormSprite;
+import worms.gui.game.GameView;
 import worms.model.IFacade;
 import worms.model.Worm;
 
@@ -16,8 +15,8 @@ public class Move extends Command {
 	private double finalX;
 	private double finalY;
 
-	public Move(IFacade facade, Worm worm, int nbSteps, PlayGameScreen screen) {
-		super(facade, screen);
+	public Move(IFacade facade, Worm worm, int nbSteps, GameView view) {
+		super(facade, view);
 		this.worm = worm;
 		this.nbSteps = nbSteps;
 	}
@@ -37,15 +36,14 @@ public class Move extends Command {
 
 	@Override
 	protected void doUpdate(double dt) {
-		WormSprite sprite = getScreen().getWormSprite(getWorm());
 		if (getElapsedTime() < getTotalDuration()) {
 			double t = getElapsedTime() / getTotalDuration();
 			t = t * t * (3 - 2 * t); // smooth-step interpolation
 			double x = (1.0 - t) * startX + t * finalX;
 			double y = (1.0 - t) * startY + t * finalY;
-			sprite.setCenterLocation(x, y);
+			getView().showWormAt(getWorm(), x, y);
 		} else {
-			sprite.setCenterLocation(finalX, finalY);
+			getView().showWormAt(getWorm(), finalX, finalY);
 		}
 	}
 
@@ -56,15 +54,15 @@ public class Move extends Command {
 
 	@Override
 	protected void executionCancelled() {
-		getScreen().addMessage("This worm cannot move :(");
+		getView().addMessage("This worm cannot move :(");
 	}
 
 	@Override
 	protected void doStartExecution() {
-		this.startX = getScreen().getScreenX(getFacade().getX(worm));
-		this.startY = getScreen().getScreenY(getFacade().getY(worm));
+		this.startX = getFacade().getX(worm);
+		this.startY = getFacade().getY(worm);
 		getFacade().move(worm, nbSteps);
-		this.finalX = getScreen().getScreenX(getFacade().getX(worm));
-		this.finalY = getScreen().getScreenY(getFacade().getY(worm));
+		this.finalX = getFacade().getX(worm);
+		this.finalY = getFacade().getY(worm);
 	}
 }
\ No newline at end of file
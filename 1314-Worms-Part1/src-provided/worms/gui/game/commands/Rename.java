@@ -1,6 +1,6 @@
 package worms.gui.game.commands;
 
-import worms.gui.game.PlayGameScreen;
+import worms.gui.game.GameView;
 import worms.model.IFacade;
 import worms.model.ModelException;
 import worms.model.Worm;
@@ -10,8 +10,8 @@ public class Rename extends InstantaneousCommand {
 	private final Worm worm;
 
 	public Rename(IFacade facade, Worm worm, String newName,
-			PlayGameScreen screen) {
-		super(facade, screen);
+			GameView view) {
+		super(facade, view);
 		this.worm = worm;
 		this.newName = newName;
 	}
@@ -25,9 +25,10 @@ public class Rename extends InstantaneousCommand {
 	protected void doStartExecution() {
 		try {
 			getFacade().rename(worm, newName);
+			getView().refreshWorm(worm);
 		} catch (ModelException e) {
 			// an invalid name
-			getScreen().addMessage("Invalid name: " + newName);
+			getView().addMessage("Invalid name: " + newName);
 		}
 	}
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package worms.gui.game.commands;
 
-import worms.gui.game.PlayGameScreen;
-import worms.gui.game.sprites.WormSprite;
+import worms.gui.game.GameView;
 import worms.model.IFacade;
 import worms.model.Worm;
 
@@ -9,8 +8,8 @@ public class Turn extends InstantaneousCommand {
 	private final Worm worm;
 	private final double angle;
 
-	public Turn(IFacade facade, Worm worm, double angle, PlayGameScreen screen) {
-		super(facade, screen);
+	public Turn(IFacade facade, Worm worm, double angle, GameView view) {
+		super(facade, view);
 		this.worm = worm;
 		this.angle = angle;
 	}
@@ -22,13 +21,12 @@ public class Turn extends InstantaneousCommand {
 	
 	@Override
 	protected void executionCancelled() {
-		getScreen().addMessage("This worm cannot perform that turn :(");
+		getView().addMessage("This worm cannot perform that turn :(");
 	}
 	
 	@Override
 	protected void doStartExecution() {
 		getFacade().turn(worm, angle);
-		WormSprite sprite = getScreen().getWormSprite(worm);
-		sprite.setDirection(getFacade().getOrientation(worm));
+		getView().refreshWorm(worm);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+package worms.gui.game.sprites;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Draws sprite images in a format that suits the device they are drawn on,
+ * so that drawing them does not convert every pixel on each frame.
+ * 
+ * The copies in the device's format are made the first time an image is
+ * drawn on a device, and are kept per device configuration as long as the
+ * image itself is in use, so that moving the window to another screen makes
+ * new copies instead of drawing incompatible ones.
+ */
+public class ImageAcceleration {
+
+	public static enum Mode {
+		/**
+		 * Draw images as they were loaded or scaled
+		 */
+		Off,
+		/**
+		 * Draw a copy made with GraphicsConfiguration.createCompatibleImage
+		 */
+		Compatible,
+		/**
+		 * Draw a copy in a volatile image, which may live in video memory and
+		 * is restored when its contents are lost
+		 */
+		Volatile;
+
+		public Mode next() {
+			return values()[(ordinal() + 1) % values().length];
+		}
+	}
+
+	private static volatile Mode mode = Mode.Compatible;
+
+	public static Mode getMode() {
+		return mode;
+	}
+
+	public static void setMode(Mode mode) {
+		ImageAcceleration.mode = mode;
+	}
+
+	// per device configuration, per source image
+	private static final Map<GraphicsConfiguration, Map<BufferedImage, BufferedImage>> compatibleImages = new WeakHashMap<GraphicsConfiguration, Map<BufferedImage, BufferedImage>>();
+	private static final Map<GraphicsConfiguration, Map<BufferedImage, VolatileImage>> volatileImages = new WeakHashMap<GraphicsConfiguration, Map<BufferedImage, VolatileImage>>();
+
+	/**
+	 * Set when the device cannot make volatile images (e.g. without a
+	 * display); compatible images are drawn instead.
+	 */
+	private static boolean volatileUnsupported = false;
+
+	public static void drawImage(Graphics2D g, BufferedImage image, int x,
+			int y) {
+		switch (getMode()) {
+		case Compatible:
+			g.drawImage(getCompatibleImage(g.getDeviceConfiguration(), image),
+					x, y, null);
+			break;
+		case Volatile:
+			drawVolatileImage(g, image, x, y);
+			break;
+		default:
+			g.drawImage(image, x, y, null);
+		}
+	}
+
+	private static synchronized BufferedImage getCompatibleImage(
+			GraphicsConfiguration gc, BufferedImage image) {
+		Map<BufferedImage, BufferedImage> images = getImages(compatibleImages,
+				gc);
+		BufferedImage result = images.get(image);
+		if (result == null) {
+			result = gc.createCompatibleImage(image.getWidth(),
+					image.getHeight(), image.getTransparency());
+			copy(image, result.createGraphics());
+			images.put(image, result);
+		}
+		return result;
+	}
+
+	/**
+	 * The copies for the given device configuration
+	 */
+	private static <T> Map<BufferedImage, T> getImages(
+			Map<GraphicsConfiguration, Map<BufferedImage, T>> copies,
+			GraphicsConfiguration gc) {
+		Map<BufferedImage, T> result = copies.get(gc);
+		if (result == null) {
+			result = new WeakHashMap<BufferedImage, T>();
+			copies.put(gc, result);
+		}
+		return result;
+	}
+
+	private static synchronized void drawVolatileImage(Graphics2D g,
+			BufferedImage image, int x, int y) {
+		GraphicsConfiguration gc = g.getDeviceConfiguration();
+		if (volatileUnsupported) {
+			g.drawImage(getCompatibleImage(gc, image), x, y, null);
+			return;
+		}
+		Map<BufferedImage, VolatileImage> images = getImages(volatileImages,
+				gc);
+		VolatileImage result = images.get(image);
+		do {
+			int status = (result == null) ? VolatileImage.IMAGE_INCOMPATIBLE
+					: result.validate(gc);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				result = createVolatileImage(gc, image);
+				if (result == null) {
+					g.drawImage(getCompatibleImage(gc, image), x, y, null);
+					return;
+				}
+				images.put(image, result);
+				status = VolatileImage.IMAGE_RESTORED;
+			}
+			if (status == VolatileImage.IMAGE_RESTORED) {
+				copy(image, result.createGraphics());
+			}
+			g.drawImage(result, x, y, null);
+		} while (result.contentsLost());
+	}
+
+	private static VolatileImage createVolatileImage(GraphicsConfiguration gc,
+			BufferedImage image) {
+		try {
+			return gc.createCompatibleVolatileImage(image.getWidth(),
+					image.getHeight(), Transparency.TRANSLUCENT);
+		} catch (RuntimeException e) {
+			volatileUnsupported = true;
+			return null;
+		}
+	}
+
+	/**
+	 * Replace the contents of the target with the given image, transparent
+	 * pixels included
+	 */
+	private static void copy(BufferedImage image, Graphics2D target) {
+		target.setComposite(AlphaComposite.Src);
+		target.drawImage(image, 0, 0, null);
+		target.dispose();
+	}
+
+	private ImageAcceleration() {
+	}
+
+}
@@ -0,0 +1,86 @@
+package worms.gui.game.sprites;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Decodes each image once and shares it between all sprites that use it.
+ * Images are looked up on the class path first, and in the file system
+ * (relative to the working directory) if they are not found there.
+ * 
+ * The shared images must not be drawn on.
+ */
+public class ImageCache {
+
+	private static final ImageCache DEFAULT = new ImageCache();
+
+	public static ImageCache getDefault() {
+		return DEFAULT;
+	}
+
+	private final Map<String, BufferedImage> images = new HashMap<String, BufferedImage>();
+
+	private long nbHits = 0;
+	private long nbMisses = 0;
+
+	public synchronized BufferedImage getImage(String path) {
+		BufferedImage image = images.get(path);
+		if (image != null) {
+			nbHits++;
+			return image;
+		}
+		nbMisses++;
+		image = readImage(path);
+		images.put(path, image);
+		return image;
+	}
+
+	protected BufferedImage readImage(String path) {
+		try {
+			URL resource = ImageCache.class.getClassLoader().getResource(path);
+			BufferedImage image;
+			if (resource != null) {
+				image = ImageIO.read(resource);
+			} else {
+				image = ImageIO.read(new File(path));
+			}
+			if (image == null) {
+				throw new IOException("Unknown image format");
+			}
+			return image;
+		} catch (IOException e) {
+			throw new RuntimeException("Could not read file '" + path + "'", e);
+		}
+	}
+
+	/**
+	 * The number of requests that were served without reading an image
+	 */
+	public synchronized long getNbHits() {
+		return nbHits;
+	}
+
+	/**
+	 * The number of requests that had to read an image
+	 */
+	public synchronized long getNbMisses() {
+		return nbMisses;
+	}
+
+	public synchronized int size() {
+		return images.size();
+	}
+
+	public synchronized void clear() {
+		images.clear();
+		nbHits = 0;
+		nbMisses = 0;
+	}
+
+}
@@ -3,20 +3,17 @@ package worms.gui.game.sprites;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-
-import javax.imageio.ImageIO;
 
 public class ImageSprite extends Sprite {
 
 	// original image, at original scale
 	private final BufferedImage originalImage;
+	// scaled and flipped versions of the original image, shared with other
+	// sprites through the sprite atlas
+	private final ScalePyramid pyramid;
 
-	// only created when scale != 1.0
-	private BufferedImage scaledImage;
-	// only create when necessary
-	private BufferedImage scaledImageHflipped;
+	// taken from the pyramid, at the current scale and flip
+	private BufferedImage imageToDraw;
 
 	private boolean hflipped = false;
 
@@ -24,7 +21,8 @@ public class ImageSprite extends Sprite {
 
 	public ImageSprite(String filename) {
 		this.originalImage = loadImage(filename);
-		this.scaledImage = originalImage;
+		this.pyramid = new ScalePyramid(originalImage, SpriteAtlas.getDefault());
+		this.imageToDraw = originalImage;
 		this.scale = 1.0;
 	}
 
@@ -46,50 +44,45 @@ public class ImageSprite extends Sprite {
 		return originalImage.getHeight();
 	}
 
+	/**
+	 * The scale is rounded to the closest level of the scale pyramid of the
+	 * image, so the scaled image can be shared with other sprites.
+	 */
 	public void setScale(double scale) {
-		this.scale = scale;
-		if (scale != 1.0) {
-			this.scaledImage = toBufferedImage(originalImage.getScaledInstance(
-					(int) (scale * originalImage.getWidth()),
-					(int) (scale * originalImage.getHeight()),
-					Image.SCALE_SMOOTH));
-		} else {
-			this.scaledImage = originalImage;
+		scale = ScalePyramid.quantize(scale);
+		if (scale == this.scale) {
+			return;
 		}
+		this.scale = scale;
+		updateImageToDraw();
+	}
 
-		if (isHflipped()) {
-			this.scaledImageHflipped = hflip(this.scaledImage);
-		} else {
-			this.scaledImageHflipped = null;
-		}
+	private void updateImageToDraw() {
+		this.imageToDraw = pyramid.getImage(scale, hflipped);
 	}
 
 	public double getScale() {
 		return scale;
 	}
 
-	protected Image getImageToDraw() {
-		Image imageToDraw = scaledImage;
-		if (isHflipped()) {
-			if (scaledImageHflipped == null) {
-				scaledImageHflipped = hflip(scaledImage);
-			}
-			imageToDraw = scaledImageHflipped;
-		}
+	protected BufferedImage getImageToDraw() {
 		return imageToDraw;
 	}
 
+	/**
+	 * The returned image is shared with other sprites; it must not be drawn
+	 * on.
+	 */
 	protected BufferedImage loadImage(String filename) {
-		try {
-			return ImageIO.read(new File(filename));
-		} catch (IOException e) {
-			throw new RuntimeException(
-					"Could not read file '" + filename + "'", e);
-		}
+		return ImageCache.getDefault().getImage(filename);
 	}
 
 	public void setHflipped(boolean value) {
+		if (value == hflipped) {
+			return;
+		}
 		hflipped = value;
+		updateImageToDraw();
 	}
 
 	public boolean isHflipped() {
@@ -97,8 +90,12 @@ public class ImageSprite extends Sprite {
 	}
 
 	protected static BufferedImage hflip(BufferedImage image) {
+		int type = image.getType();
+		if (type == BufferedImage.TYPE_CUSTOM) {
+			type = BufferedImage.TYPE_INT_ARGB;
+		}
 		BufferedImage flippedImage = new BufferedImage(image.getWidth(),
-				image.getHeight(), image.getType());
+				image.getHeight(), type);
 		Graphics2D flippedGraphics = flippedImage.createGraphics();
 		flippedGraphics.scale(-1, 1);
 		flippedGraphics.drawImage(image, -image.getWidth(null), 0, null);
@@ -125,6 +122,6 @@ public class ImageSprite extends Sprite {
 	public void draw(Graphics2D g) {
 		int x = (int) (getCenterX() - getWidth(g) / 2);
 		int y = (int) (getCenterY() - getHeight(g) / 2);
-		g.drawImage(getImageToDraw(), x, y, null);
+		ImageAcceleration.drawImage(g, getImageToDraw(), x, y);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package worms.gui.game.sprites;
+
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+
+/**
+ * Scaled versions of one image, at scales that are quantized to
+ * {@link #LEVELS_PER_OCTAVE} levels per factor of two, shared by all sprites
+ * that show that image.
+ * 
+ * Each level is scaled (smoothly) from the original image the first time it
+ * is asked for, and kept in a sprite atlas together with its flipped variant.
+ */
+public class ScalePyramid {
+
+	/**
+	 * Number of levels per factor of two: a quantized scale is at most about
+	 * 2% off.
+	 */
+	public static final int LEVELS_PER_OCTAVE = 16;
+
+	private static final int MIN_LEVEL = -4 * LEVELS_PER_OCTAVE;
+	private static final int MAX_LEVEL = 7 * LEVELS_PER_OCTAVE;
+
+	/**
+	 * The level closest to the given scale (limited to the range of the
+	 * pyramid)
+	 */
+	public static int getLevel(double scale) {
+		long level = Math.round(Math.log(scale) / Math.log(2)
+				* LEVELS_PER_OCTAVE);
+		return (int) Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+	}
+
+	public static double getScale(int level) {
+		return Math.pow(2, (double) level / LEVELS_PER_OCTAVE);
+	}
+
+	public static double quantize(double scale) {
+		return getScale(getLevel(scale));
+	}
+
+	private final BufferedImage originalImage;
+	private final SpriteAtlas atlas;
+
+	public ScalePyramid(BufferedImage originalImage, SpriteAtlas atlas) {
+		this.originalImage = originalImage;
+		this.atlas = atlas;
+	}
+
+	public BufferedImage getOriginalImage() {
+		return originalImage;
+	}
+
+	/**
+	 * The image at the level closest to the given scale
+	 */
+	public BufferedImage getImage(double scale) {
+		return getImage(scale, false);
+	}
+
+	/**
+	 * The image at the level closest to the given scale, flipped horizontally
+	 * if asked for
+	 */
+	public BufferedImage getImage(double scale, boolean flipped) {
+		return atlas.getImage(originalImage, getLevel(scale), flipped);
+	}
+
+	static BufferedImage scale(BufferedImage image, double scale) {
+		int width = Math.max(1, (int) (scale * image.getWidth()));
+		int height = Math.max(1, (int) (scale * image.getHeight()));
+		return ImageSprite.toBufferedImage(image.getScaledInstance(width,
+				height, Image.SCALE_SMOOTH));
+	}
+
+}
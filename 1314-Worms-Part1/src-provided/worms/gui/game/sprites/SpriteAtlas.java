@@ -0,0 +1,160 @@
+package worms.gui.game.sprites;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores each variant of a sprite image (source image, level of its scale
+ * pyramid, flipped or not) once, so sprites can refer to a shared variant
+ * instead of owning a copy of its pixels.
+ * 
+ * The atlas is bounded by the number of bytes of its images; when it is full,
+ * the variants that were used least recently are evicted. A sprite that still
+ * refers to an evicted variant keeps it, but other sprites will get a new copy.
+ */
+public class SpriteAtlas {
+
+	/**
+	 * Default bound on the size of the images in the atlas: 32 MiB
+	 */
+	public static final long DEFAULT_MAX_BYTES = 32L << 20;
+
+	private static final SpriteAtlas DEFAULT = new SpriteAtlas(
+			DEFAULT_MAX_BYTES);
+
+	public static SpriteAtlas getDefault() {
+		return DEFAULT;
+	}
+
+	private static class Key {
+		private final BufferedImage image;
+		private final int level;
+		private final boolean flipped;
+
+		public Key(BufferedImage image, int level, boolean flipped) {
+			this.image = image;
+			this.level = level;
+			this.flipped = flipped;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return image == other.image && level == other.level
+					&& flipped == other.flipped;
+		}
+
+		@Override
+		public int hashCode() {
+			return (System.identityHashCode(image) * 31 + level) * 2
+					+ (flipped ? 1 : 0);
+		}
+	}
+
+	private final long maxBytes;
+
+	// in access order, least recently used first
+	private final LinkedHashMap<Key, BufferedImage> variants = new LinkedHashMap<Key, BufferedImage>(
+			16, 0.75f, true);
+
+	private long nbBytes = 0;
+	private long nbHits = 0;
+	private long nbMisses = 0;
+	private long nbEvictions = 0;
+
+	public SpriteAtlas(long maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException(
+					"The size of the atlas must be positive");
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * The variant of the given source image at the given level of its scale
+	 * pyramid, flipped horizontally if asked for
+	 */
+	public synchronized BufferedImage getImage(BufferedImage source,
+			int level, boolean flipped) {
+		if (level == 0 && !flipped) {
+			return source;
+		}
+		Key key = new Key(source, level, flipped);
+		BufferedImage image = variants.get(key);
+		if (image != null) {
+			nbHits++;
+			return image;
+		}
+		nbMisses++;
+		if (flipped) {
+			image = ImageSprite.hflip(getImage(source, level, false));
+		} else {
+			image = ScalePyramid.scale(source, ScalePyramid.getScale(level));
+		}
+		variants.put(key, image);
+		nbBytes += getNbBytes(image);
+		evict();
+		return image;
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<Key, BufferedImage>> it = variants.entrySet()
+				.iterator();
+		// the newest variant is never evicted
+		while (nbBytes > maxBytes && variants.size() > 1) {
+			BufferedImage image = it.next().getValue();
+			it.remove();
+			nbBytes -= getNbBytes(image);
+			nbEvictions++;
+		}
+	}
+
+	private static long getNbBytes(BufferedImage image) {
+		return 4L * image.getWidth() * image.getHeight();
+	}
+
+	public synchronized int size() {
+		return variants.size();
+	}
+
+	/**
+	 * The (approximate) number of bytes of the images in the atlas
+	 */
+	public synchronized long getNbBytes() {
+		return nbBytes;
+	}
+
+	public synchronized long getNbHits() {
+		return nbHits;
+	}
+
+	public synchronized long getNbMisses() {
+		return nbMisses;
+	}
+
+	public synchronized long getNbEvictions() {
+		return nbEvictions;
+	}
+
+	/**
+	 * Remove all variants from the atlas and reset its hit, miss and eviction
+	 * counters
+	 */
+	public synchronized void clear() {
+		variants.clear();
+		nbBytes = 0;
+		nbHits = 0;
+		nbMisses = 0;
+		nbEvictions = 0;
+	}
+
+}
@@ -0,0 +1,82 @@
+package worms.gui.game.sprites;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import worms.model.Worm;
+
+/**
+ * Keeps the sprites of a screen in one bucket per sprite class (each sprite is
+ * in the bucket of its own class and of all its superclasses), and the sprites
+ * of worms by worm identity.
+ * 
+ * Lookups do not copy anything: the sets that are returned are read-only views
+ * that follow later changes to the registry.
+ */
+public class SpriteRegistry {
+
+	private final Map<Class<?>, Set<Sprite>> buckets = new HashMap<Class<?>, Set<Sprite>>();
+	private final Map<Class<?>, Set<? extends Sprite>> views = new HashMap<Class<?>, Set<? extends Sprite>>();
+
+	private final Map<Worm, WormSprite> wormSprites = new IdentityHashMap<Worm, WormSprite>();
+
+	public void add(Sprite sprite) {
+		for (Class<?> type = sprite.getClass(); Sprite.class
+				.isAssignableFrom(type); type = type.getSuperclass()) {
+			getBucket(type).add(sprite);
+		}
+		if (sprite instanceof WormSprite) {
+			WormSprite wormSprite = (WormSprite) sprite;
+			wormSprites.put(wormSprite.getWorm(), wormSprite);
+		}
+	}
+
+	public void remove(Sprite sprite) {
+		for (Class<?> type = sprite.getClass(); Sprite.class
+				.isAssignableFrom(type); type = type.getSuperclass()) {
+			getBucket(type).remove(sprite);
+		}
+		if (sprite instanceof WormSprite) {
+			Worm worm = ((WormSprite) sprite).getWorm();
+			if (wormSprites.get(worm) == sprite) {
+				wormSprites.remove(worm);
+			}
+		}
+	}
+
+	private Set<Sprite> getBucket(Class<?> type) {
+		Set<Sprite> bucket = buckets.get(type);
+		if (bucket == null) {
+			bucket = new LinkedHashSet<Sprite>();
+			buckets.put(type, bucket);
+			views.put(type, Collections.unmodifiableSet(bucket));
+		}
+		return bucket;
+	}
+
+	/**
+	 * The sprites of the given type (including subtypes), as a live read-only
+	 * view
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Sprite> Set<T> getSpritesOfType(Class<T> type) {
+		getBucket(type);
+		return (Set<T>) views.get(type);
+	}
+
+	/**
+	 * The sprite of the given worm, or null if it has none
+	 */
+	public WormSprite getWormSprite(Worm worm) {
+		return wormSprites.get(worm);
+	}
+
+	public int size() {
+		return getBucket(Sprite.class).size();
+	}
+
+}
@@ -1,5 +1,6 @@
 package worms.gui.game.sprites;
 
+import worms.gui.GUIConstants;
 import worms.gui.GUIUtils;
 import worms.model.Worm;
 
@@ -7,6 +8,14 @@ public class WormSprite extends ImageSprite {
 
 	private final Worm worm;
 
+	// location of the worm as shown by this sprite, not necessarily its
+	// current location (in worm-meter)
+	private double worldX;
+	private double worldY;
+
+	private double radius = 0;
+	private double worldScale = GUIConstants.WORLD_SCALE;
+
 	public WormSprite(Worm worm) {
 		super("images/worm.png");
 		this.worm = worm;
@@ -26,16 +35,50 @@ public class WormSprite extends ImageSprite {
 		}
 	}
 
+	public void setWorldLocation(double x, double y) {
+		this.worldX = x;
+		this.worldY = y;
+	}
+
+	public double getWorldX() {
+		return worldX;
+	}
+
+	public double getWorldY() {
+		return worldY;
+	}
+
 	/**
 	 * @param radius
 	 *            (in worm-meter)
 	 */
 	public void setRadius(double radius) {
+		this.radius = radius;
+		updateScale();
+	}
+
+	public double getRadius() {
+		return radius;
+	}
+
+	/**
+	 * @param worldScale
+	 *            scale at which the world is drawn to screen (in pixels per
+	 *            worm-meter)
+	 */
+	public void setWorldScale(double worldScale) {
+		if (worldScale != this.worldScale) {
+			this.worldScale = worldScale;
+			updateScale();
+		}
+	}
+
+	private void updateScale() {
 		/*
 		 * Height of the image (when drawn at native size) in worm-meters, given
 		 * the scale at which the world is drawn to screen
 		 */
-		double imageHeightInMeters = GUIUtils.pixelToMeter(getImageHeight());
+		double imageHeightInMeters = getImageHeight() / worldScale;
 
 		/*
 		 * scale factor to nicely fit the image in a circle with diameter equal
@@ -0,0 +1,107 @@
+package worms.headless;
+
+import java.util.Random;
+
+import worms.gui.GUIConstants;
+import worms.gui.GUIOptions;
+import worms.gui.GameState;
+import worms.gui.game.commands.Command;
+import worms.gui.game.commands.Jump;
+import worms.gui.game.commands.Move;
+import worms.gui.game.commands.Resize;
+import worms.gui.game.commands.Turn;
+import worms.model.IFacade;
+import worms.model.Worm;
+
+/**
+ * Plays a game without Swing: every turn, the selected worm performs a random
+ * command, and simulated time advances as fast as the CPU allows until the
+ * command has finished.
+ */
+public class HeadlessEngine {
+
+	/**
+	 * Simulated time (in worm-seconds) per tick, equal to one frame in the GUI
+	 */
+	public static final double TIME_STEP = GUIConstants.TIME_SCALE
+			/ GUIConstants.FRAMERATE;
+
+	private final IFacade facade;
+	private final GUIOptions options;
+	private final Random random;
+	private final HeadlessGameView view = new HeadlessGameView();
+
+	private GameState gameState;
+	private long nbTicks = 0;
+
+	public HeadlessEngine(IFacade facade, GUIOptions options) {
+		this.facade = facade;
+		this.options = options;
+		this.random = new Random(options.randomSeed);
+	}
+
+	public void start() {
+		startGame();
+		long start = System.nanoTime();
+		for (long turn = 0; turn < options.headlessTurns; turn++) {
+			playTurn();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format(
+				"%d turns, %d ticks, %d rejected commands in %.3f s (%.0f turns/s)",
+				options.headlessTurns, nbTicks, view.getNbMessages(), seconds,
+				options.headlessTurns / seconds));
+	}
+
+	public void startGame() {
+		gameState = new GameState(facade, options.randomSeed,
+				GUIConstants.DEFAULT_WINDOW_WIDTH,
+				GUIConstants.DEFAULT_WINDOW_HEIGHT);
+		gameState.startGame();
+	}
+
+	public GameState getGameState() {
+		return gameState;
+	}
+
+	public HeadlessGameView getView() {
+		return view;
+	}
+
+	public long getNbTicks() {
+		return nbTicks;
+	}
+
+	public void playTurn() {
+		Worm worm = gameState.getSelectedWorm();
+		if (worm != null) {
+			gameState.enqueueCommand(createRandomCommand(worm));
+		}
+		runUntilIdle();
+		gameState.selectNextWorm();
+	}
+
+	public void runUntilIdle() {
+		do {
+			gameState.evolve(TIME_STEP);
+			nbTicks++;
+		} while (!gameState.isIdle());
+	}
+
+	private Command createRandomCommand(Worm worm) {
+		switch (random.nextInt(4)) {
+		case 0:
+			return new Move(facade, worm, GUIConstants.DEFAULT_NB_STEPS, view);
+		case 1:
+			double angle = (2 * random.nextDouble() - 1) * Math.PI;
+			return new Turn(facade, worm, angle, view);
+		case 2:
+			return new Jump(facade, worm, view);
+		default:
+			double factor = 1.0 + (random.nextBoolean() ? GUIConstants.RESIZE_FACTOR
+					: -GUIConstants.RESIZE_FACTOR);
+			return new Resize(facade, worm, factor, view);
+		}
+	}
+
+}
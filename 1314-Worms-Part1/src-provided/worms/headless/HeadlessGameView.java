@@ -0,0 +1,31 @@
+package worms.headless;
+
+import worms.gui.game.GameView;
+import worms.model.Worm;
+
+/**
+ * A view that shows nothing, so commands can run without a display. It only
+ * counts the messages it is asked to show.
+ */
+public class HeadlessGameView implements GameView {
+
+	private long nbMessages = 0;
+
+	@Override
+	public void showWormAt(Worm worm, double x, double y) {
+	}
+
+	@Override
+	public void refreshWorm(Worm worm) {
+	}
+
+	@Override
+	public void addMessage(String message) {
+		nbMessages++;
+	}
+
+	public long getNbMessages() {
+		return nbMessages;
+	}
+
+}
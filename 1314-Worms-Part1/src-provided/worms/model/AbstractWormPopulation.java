@@ -0,0 +1,304 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of worm populations, storing the state of their worms in slots.
+ * Each worm of a population is a lightweight handle referring to one slot of its population.
+ * 	Subclasses decide how the state of the slots is stored; every slot accessor is abstract,
+ * 	so that each subclass has to provide all of them.
+ *
+ * @version 1.0
+ * @author Laurens Loots, Pieter Vos
+ */
+public abstract class AbstractWormPopulation {
+
+	/**
+	 * Create a new, empty worm population.
+	 *
+	 * @post	The new population holds no worms.
+	 * 			| new.size() == 0
+	 */
+	@Model
+	AbstractWormPopulation()
+	{
+	}
+
+	/**
+	 * Return the number of worms in this population.
+	 */
+	@Basic @Raw
+	public abstract int size();
+
+	/**
+	 * Return the number of worms this population can hold before it has to grow.
+	 */
+	@Basic @Raw
+	public abstract int getCapacity();
+
+	/**
+	 * Reserve a new slot in this population, holding the state of a fresh worm.
+	 *
+	 * @return	The index of the new slot.
+	 * 			| result == old.size()
+	 * @post	The size of this population is incremented by one.
+	 * 			| new.size() == size() + 1
+	 * @post	The new slot holds the default state of a worm: a zero position, direction, radius, mass
+	 * 			and amount of action points, the default minimal radius and a blank name.
+	 * 			| new.getMinimalRadius(result) == DEFAULT_MINIMAL_RADIUS
+	 * 			| new.getName(result) == " "
+	 * @post	The new slot has not been modified yet.
+	 * 			| new.getVersion(result) == 0
+	 */
+	@Model
+	abstract int allocate();
+
+	/**
+	 * Give back the last slot of this population, used when a worm could not be created.
+	 * 	Only the slot returned by the last call to allocate can be given back, right after
+	 * 	that call; populations keep no free list, so other slots are never reused.
+	 *
+	 * @param 	index
+	 * 			The index of the slot to give back.
+	 * @post	The size of this population is decremented by one.
+	 * 			| new.size() == size() - 1
+	 * @throws	IllegalArgumentException("Only the last slot can be given back.")
+	 * 			The given index is not the last slot of this population.
+	 * 			| index != size() - 1
+	 */
+	@Model
+	abstract void discard(int index)
+			throws IllegalArgumentException;
+
+	/**
+	 * Make sure this population can hold at least the given number of worms.
+	 *
+	 * @param 	capacity
+	 * 			The minimal capacity of this population.
+	 * @post	The capacity of this population is not below the given capacity.
+	 * 			| new.getCapacity() >= capacity
+	 */
+	public abstract void ensureCapacity(int capacity);
+
+	/**
+	 * Return the registry keeping the names of the worms in this population unique,
+	 * or null if names do not have to be unique.
+	 */
+	@Basic @Raw
+	public WormNameRegistry getNameRegistry()
+	{
+		return this.nameRegistry;
+	}
+
+	/**
+	 * Let the given registry keep the names of the worms in this population unique.
+	 *
+	 * @param 	nameRegistry
+	 * 			The registry for this population, or null if names do not have to be unique.
+	 * @post	The name registry of this population is the given registry.
+	 * 			| new.getNameRegistry() == nameRegistry
+	 * @throws	IllegalStateException("The population already holds worms.")
+	 * 			The names of the worms already in this population were not registered.
+	 * 			| size() > 0
+	 */
+	public void setNameRegistry(WormNameRegistry nameRegistry)
+			throws IllegalStateException
+	{
+		if(size() > 0)
+			throw new IllegalStateException("The population already holds worms.");
+		this.nameRegistry = nameRegistry;
+	}
+
+	/**
+	 * Variable referencing the name registry of this population.
+	 */
+	private WormNameRegistry nameRegistry = null;
+
+	/**
+	 * Return the spatial index keeping track of the positions of the worms in this population,
+	 * or null if their positions are not indexed.
+	 */
+	@Basic @Raw
+	public WormSpatialIndex getSpatialIndex()
+	{
+		return this.spatialIndex;
+	}
+
+	/**
+	 * Let the given spatial index keep track of the positions of the worms in this population.
+	 *
+	 * @param 	spatialIndex
+	 * 			The spatial index for this population, or null if positions do not have to be indexed.
+	 * @post	The spatial index of this population is the given index.
+	 * 			| new.getSpatialIndex() == spatialIndex
+	 * @throws	IllegalStateException("The population already holds worms.")
+	 * 			The worms already in this population were not indexed.
+	 * 			| size() > 0
+	 */
+	public void setSpatialIndex(WormSpatialIndex spatialIndex)
+			throws IllegalStateException
+	{
+		if(size() > 0)
+			throw new IllegalStateException("The population already holds worms.");
+		this.spatialIndex = spatialIndex;
+	}
+
+	/**
+	 * Variable referencing the spatial index of this population.
+	 */
+	private WormSpatialIndex spatialIndex = null;
+
+	/**
+	 * Final class variable registering the minimal radius a new worm starts with.
+	 */
+	final static double DEFAULT_MINIMAL_RADIUS = 0.25;
+
+
+
+	/**
+	 * Return the x-coordinate of the worm in the given slot (in meter).
+	 */
+	@Basic @Raw
+	public abstract double getX(int index);
+
+	@Model
+	abstract void setX(int index, double value);
+
+	/**
+	 * Return the y-coordinate of the worm in the given slot (in meter).
+	 */
+	@Basic @Raw
+	public abstract double getY(int index);
+
+	@Model
+	abstract void setY(int index, double value);
+
+	/**
+	 * Return the direction of the worm in the given slot (in radians).
+	 */
+	@Basic @Raw
+	public abstract double getDirection(int index);
+
+	@Model
+	abstract void setDirection(int index, double value);
+
+	/**
+	 * Return the cosine of the direction of the worm in the given slot.
+	 */
+	@Basic @Raw
+	public abstract double getDirectionCos(int index);
+
+	/**
+	 * Return the sine of the direction of the worm in the given slot.
+	 */
+	@Basic @Raw
+	public abstract double getDirectionSin(int index);
+
+	/**
+	 * Return the amount of action points a single step costs the worm in the given slot,
+	 * before rounding up.
+	 */
+	@Basic @Raw
+	public abstract double getStepCost(int index);
+
+	@Model
+	abstract void setDirectionCache(int index, double cos, double sin, double cost);
+
+	/**
+	 * Return the radius of the worm in the given slot (in meter).
+	 */
+	@Basic @Raw
+	public abstract double getRadius(int index);
+
+	@Model
+	abstract void setRadius(int index, double value);
+
+	/**
+	 * Return the minimal radius of the worm in the given slot (in meter).
+	 */
+	@Basic @Raw
+	public abstract double getMinimalRadius(int index);
+
+	@Model
+	abstract void setMinimalRadius(int index, double value);
+
+	/**
+	 * Return the mass of the worm in the given slot (in kilogram).
+	 */
+	@Basic @Raw
+	public abstract double getMass(int index);
+
+	@Model
+	abstract void setMass(int index, double value);
+
+	/**
+	 * Return the maximum amount of action points of the worm in the given slot.
+	 */
+	@Basic @Raw
+	public abstract long getMaxActionPoints(int index);
+
+	@Model
+	abstract void setMaxActionPoints(int index, long value);
+
+	/**
+	 * Return the current amount of action points of the worm in the given slot.
+	 */
+	@Basic @Raw
+	public abstract long getCurrentActionPoints(int index);
+
+	@Model
+	abstract void setCurrentActionPoints(int index, long value);
+
+	/**
+	 * Return the name of the worm in the given slot.
+	 */
+	@Basic @Raw
+	public abstract String getName(int index);
+
+	@Model
+	abstract void setName(int index, String value);
+
+	/**
+	 * Return the number of times the state of the worm in the given slot has been modified.
+	 */
+	@Basic @Raw
+	public abstract long getVersion(int index);
+
+	@Model
+	abstract void incrementVersion(int index);
+
+	/**
+	 * Return the remembered initial velocity of a jump of the worm in the given slot,
+	 * or NaN if it has not been calculated since the worm last changed.
+	 */
+	@Basic @Raw
+	abstract double getInitialVelocity(int index);
+
+	@Model
+	abstract void setInitialVelocity(int index, double value);
+
+	/**
+	 * Return the remembered distance of a jump of the worm in the given slot,
+	 * or NaN if it has not been calculated since the worm last changed.
+	 */
+	@Basic @Raw
+	abstract double getJumpDistance(int index);
+
+	@Model
+	abstract void setJumpDistance(int index, double value);
+
+	/**
+	 * Return the remembered time of a jump of the worm in the given slot,
+	 * or NaN if it has not been calculated since the worm last changed.
+	 */
+	@Basic @Raw
+	abstract double getJumpTime(int index);
+
+	@Model
+	abstract void setJumpTime(int index, double value);
+
+	@Model
+	abstract void clearJumpParameters(int index);
+}
@@ -1,5 +1,9 @@
 package worms.model;
 
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 public class Facade implements IFacade {
 
 	@Override
@@ -10,10 +14,10 @@ public class Facade implements IFacade {
 		return worm;
 		}
 		catch(IllegalRadiusException z){
-			throw new ModelException("This is not a valid radius!");
+			throw translate(z);
 		}
 		catch(IllegalNameException z){
-			throw new ModelException("This is not a valid name!");
+			throw translate(z);
 		}
 	}
 
@@ -24,14 +28,12 @@ public class Facade implements IFacade {
 
 	@Override
 	public void move(Worm worm, int nbSteps) 
-			throws IllegalArgumentException{
-		try{
-			worm.move(nbSteps);
-		}
-		catch(IllegalArgumentException x){
-			throw new ModelException("This worm cannot move :(");
+			throws ModelException{
+		if(!worm.canMove(nbSteps)){
+			countMoveRejection(nbSteps);
+			throw newModelException("This worm cannot move :(");
 		}
-		
+		worm.move(nbSteps);
 	}
 
 	@Override
@@ -44,45 +46,58 @@ public class Facade implements IFacade {
 		worm.turn(angle);
 	}
 
+	@Override
+	public boolean canJump(Worm worm) {
+		return worm.canJump();
+	}
+
+	@Override
+	public JumpStatus getJumpStatus(Worm worm) {
+		return worm.getJumpStatus();
+	}
+
 	@Override
 	public void jump(Worm worm) 
 			throws ModelException{
-		try{
+		switch(worm.getJumpStatus()){
+		case InvalidDirection:
+			countJumpRejection(JumpStatus.InvalidDirection);
+			throw newModelException("You can not jump in this direction!");
+		case NoActionPoints:
+			countJumpRejection(JumpStatus.NoActionPoints);
+			throw newModelException("You can not jump without action points!");
+		default:
 			worm.jump();
 		}
-		catch (IllegalDirectionException x){
-			throw new ModelException("You can not jump in this direction!");
-		}
-		catch(IllegalActionPointsException x){
-			throw new ModelException("You can not jump without action points!");
-		}
 	}
 
 	@Override
-	public double getJumpTime(Worm worm) 
-			throws ModelException{
-		try{
-			return worm.getJumpTime();
-		}
-		catch(IllegalDirectionException x){
-			return 0;
-		}
-		catch(IllegalActionPointsException x){
+	public double getJumpTime(Worm worm) {
+		if(!worm.canJump())
 			return 0;
-		}
+		return worm.getJumpTime();
 	}
 
 	@Override
-	public double[] getJumpStep(Worm worm, double t) 
+	public double[] getJumpStep(Worm worm, double t) {
+		if(!worm.canJump())
+			return null;
+		return worm.getJumpStep(t);
+	}
+
+	@Override
+	public int sampleJumpTrajectory(Worm worm, int n, double[] outXY)
 			throws ModelException{
+		if(n < 0)
+			throw new ModelException("The number of jump steps cannot be negative!");
+		if(!worm.canJump())
+			return 0;
 		try{
-			return worm.getJumpStep(t);
-		}
-		catch(IllegalDirectionException x){
-			return null;
+			worm.sampleJumpTrajectory(n, outXY);
+			return n;
 		}
-		catch(IllegalActionPointsException x){
-			return null;
+		catch(IllegalArgumentException x){
+			throw new ModelException("The array cannot hold this many jump steps!");
 		}
 	}
 
@@ -113,7 +128,7 @@ public class Facade implements IFacade {
 			worm.setRadius(newRadius);
 		}
 		catch(IllegalRadiusException x){
-			throw new ModelException("This is not a valid radius!");
+			throw translate(x);
 		}
 	}
 
@@ -137,6 +152,11 @@ public class Facade implements IFacade {
 		return worm.getName();
 	}
 
+	@Override
+	public long getVersion(Worm worm) {
+		return worm.getVersion();
+	}
+
 	@Override
 	public void rename(Worm worm, String newName) 
 			throws ModelException{
@@ -144,7 +164,7 @@ public class Facade implements IFacade {
 			worm.setName(newName);
 		}
 		catch(IllegalNameException x){
-			throw new ModelException("This is not a valid name!");
+			throw translate(x);
 		}
 	}
 
@@ -153,4 +173,153 @@ public class Facade implements IFacade {
 		return worm.getMass();
 	}
 
+	@Override
+	public void canMoveAll(Worm[] worms, int[] nbSteps, boolean[] result)
+			throws ModelException{
+		checkBatchLength(worms, nbSteps.length);
+		checkBatchLength(worms, result.length);
+		for(int i = 0; i < worms.length; i++)
+			result[i] = worms[i] != null && worms[i].canMove(nbSteps[i]);
+	}
+
+	@Override
+	public int moveAll(Worm[] worms, int[] nbSteps, BitSet failures)
+			throws ModelException{
+		checkBatchLength(worms, nbSteps.length);
+		failures.clear(0, worms.length);
+		int nbFailures = 0;
+		for(int i = 0; i < worms.length; i++){
+			if(worms[i] != null && worms[i].canMove(nbSteps[i]))
+				worms[i].move(nbSteps[i]);
+			else{
+				if(worms[i] != null)
+					countMoveRejection(nbSteps[i]);
+				failures.set(i);
+				nbFailures++;
+			}
+		}
+		return nbFailures;
+	}
+
+	@Override
+	public void canTurnAll(Worm[] worms, double[] angles, boolean[] result)
+			throws ModelException{
+		checkBatchLength(worms, angles.length);
+		checkBatchLength(worms, result.length);
+		for(int i = 0; i < worms.length; i++)
+			result[i] = worms[i] != null && worms[i].canTurn(angles[i]);
+	}
+
+	@Override
+	public int turnAll(Worm[] worms, double[] angles, BitSet failures)
+			throws ModelException{
+		checkBatchLength(worms, angles.length);
+		failures.clear(0, worms.length);
+		int nbFailures = 0;
+		for(int i = 0; i < worms.length; i++){
+			if(worms[i] != null && worms[i].canTurn(angles[i]))
+				worms[i].turn(angles[i]);
+			else{
+				if(worms[i] != null)
+					countTurnRejection(angles[i]);
+				failures.set(i);
+				nbFailures++;
+			}
+		}
+		return nbFailures;
+	}
+
+	@Override
+	public int jumpAll(Worm[] worms, BitSet failures) {
+		failures.clear(0, worms.length);
+		int nbFailures = 0;
+		for(int i = 0; i < worms.length; i++){
+			JumpStatus status = worms[i] == null ? null : worms[i].getJumpStatus();
+			if(status == JumpStatus.Possible)
+				worms[i].jump();
+			else{
+				if(status != null)
+					countJumpRejection(status);
+				failures.set(i);
+				nbFailures++;
+			}
+		}
+		return nbFailures;
+	}
+
+	/**
+	 * Wrap the given worm exception in a model exception carrying the same message.
+	 * 
+	 * The worm exception itself cannot be rethrown: it is not a model exception, and
+	 * the facade may only throw model exceptions. Without stack traces, the wrapping
+	 * model exception is shared (see newModelException), so a rejection creates no
+	 * exception besides the worm exception.
+	 */
+	static ModelException translate(WormException exc) {
+		if(!WormException.areStackTracesEnabled())
+			return newModelException(exc.getMessage());
+		return new ModelException(exc.getMessage(), exc);
+	}
+
+	/**
+	 * Return a model exception with the given message. Without stack traces, the
+	 * exception is shared by all rejections with that message and carries no cause.
+	 */
+	static ModelException newModelException(String message) {
+		if(WormException.areStackTracesEnabled())
+			return new ModelException(message);
+		ModelException exc = sharedExceptions.get(message);
+		if(exc == null){
+			ModelException newExc = new ModelException(message);
+			exc = sharedExceptions.putIfAbsent(message, newExc);
+			if(exc == null)
+				exc = newExc;
+		}
+		return exc;
+	}
+
+	private static final ConcurrentMap<String, ModelException> sharedExceptions =
+			new ConcurrentHashMap<String, ModelException>();
+
+	/**
+	 * Count a move of the given number of steps the facade rejected; a worm that
+	 * cannot move a positive number of steps lacks action points. Non-positive
+	 * numbers of steps are invalid requests rather than rejected actions.
+	 */
+	private static void countMoveRejection(int nbSteps) {
+		if(nbSteps > 0)
+			WormException.countRejection(IllegalActionPointsException.class);
+	}
+
+	/**
+	 * Count a turn by the given angle the facade rejected.
+	 */
+	private static void countTurnRejection(double angle) {
+		if(Math.abs(angle) > Math.PI || angle == 0)
+			WormException.countRejection(IllegalDirectionException.class);
+		else
+			WormException.countRejection(IllegalActionPointsException.class);
+	}
+
+	/**
+	 * Count a jump the facade rejected with the given status.
+	 */
+	private static void countJumpRejection(JumpStatus status) {
+		if(status == JumpStatus.InvalidDirection)
+			WormException.countRejection(IllegalDirectionException.class);
+		else
+			WormException.countRejection(IllegalActionPointsException.class);
+	}
+
+	private static void checkBatchLength(Worm[] worms, int length)
+			throws ModelException{
+		if(worms.length != length)
+			throw new ModelException("The batch arrays must have the same length!");
+	}
+
+	@Override
+	public WormSpatialIndex getSpatialIndex() {
+		return null;
+	}
+
 }
@@ -1,5 +1,7 @@
 package worms.model;
 
+import java.util.BitSet;
+
 /**
  * Implement this interface to connect your code to the user interface.
  * 
@@ -85,6 +87,16 @@ public interface IFacade {
 	 */
 	void turn(Worm worm, double angle);
 
+	/**
+	 * Returns whether or not the given worm can jump.
+	 */
+	boolean canJump(Worm worm);
+
+	/**
+	 * Returns whether or not the given worm can jump, and if not, why.
+	 */
+	JumpStatus getJumpStatus(Worm worm);
+
 	/**
 	 * Makes the given worm jump.
 	 */
@@ -106,6 +118,21 @@ public interface IFacade {
 	 */
 	double[] getJumpStep(Worm worm, double t);
 
+	/**
+	 * Stores n evenly spaced locations on the jump trajectory of the given
+	 * worm in the given array, without allocating any memory.
+	 * 
+	 * The i-th location (for i from 1 up to n) is the location after a time
+	 * i * getJumpTime(worm) / n; its x-coordinate is stored at position
+	 * 2 * (i - 1) and its y-coordinate at position 2 * (i - 1) + 1.
+	 * 
+	 * @return The number of locations stored, which is 0 if the given worm
+	 *  cannot jump.
+	 * @throws ModelException If n is negative, or if the given array cannot
+	 *  hold n locations.
+	 */
+	int sampleJumpTrajectory(Worm worm, int n, double[] outXY);
+
 	/**
 	 * Returns the x-coordinate of the current location of the given worm.
 	 */
@@ -151,6 +178,12 @@ public interface IFacade {
 	 */
 	String getName(Worm worm);
 
+	/**
+	 * Returns the version of the given worm, a number that increases every
+	 * time the state of the worm changes and never decreases.
+	 */
+	long getVersion(Worm worm);
+
 	/**
 	 * Renames the given worm.
 	 */
@@ -161,4 +194,60 @@ public interface IFacade {
 	 */
 	double getMass(Worm worm);
 
+	/**
+	 * Stores in the given result array whether or not each of the given worms
+	 * can move the number of steps at the same position in the given array.
+	 */
+	void canMoveAll(Worm[] worms, int[] nbSteps, boolean[] result);
+
+	/**
+	 * Moves each of the given worms by the number of steps at the same
+	 * position in the given array.
+	 * 
+	 * Worms that cannot move are left untouched and their position is set in
+	 * the given failures bitmap; no exception is thrown for them. The bits
+	 * of all other positions below worms.length are cleared, so the same
+	 * bitmap can be reused across calls.
+	 * 
+	 * @return The number of worms that could not move.
+	 */
+	int moveAll(Worm[] worms, int[] nbSteps, BitSet failures);
+
+	/**
+	 * Stores in the given result array whether or not each of the given worms
+	 * can turn by the angle at the same position in the given array.
+	 */
+	void canTurnAll(Worm[] worms, double[] angles, boolean[] result);
+
+	/**
+	 * Turns each of the given worms by the angle at the same position in the
+	 * given array.
+	 * 
+	 * Worms that cannot turn are left untouched and their position is set in
+	 * the given failures bitmap; no exception is thrown for them. The bits
+	 * of all other positions below worms.length are cleared, so the same
+	 * bitmap can be reused across calls.
+	 * 
+	 * @return The number of worms that could not turn.
+	 */
+	int turnAll(Worm[] worms, double[] angles, BitSet failures);
+
+	/**
+	 * Makes each of the given worms jump.
+	 * 
+	 * Worms that cannot jump are left untouched and their position is set in
+	 * the given failures bitmap; no exception is thrown for them. The bits
+	 * of all other positions below worms.length are cleared, so the same
+	 * bitmap can be reused across calls.
+	 * 
+	 * @return The number of worms that could not jump.
+	 */
+	int jumpAll(Worm[] worms, BitSet failures);
+
+	/**
+	 * Returns the spatial index keeping track of the positions of the worms
+	 * created by this facade, or null if their positions are not indexed.
+	 */
+	WormSpatialIndex getSpatialIndex();
+
 }
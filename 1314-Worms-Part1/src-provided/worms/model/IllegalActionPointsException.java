@@ -11,7 +11,7 @@ import be.kuleuven.cs.som.annotate.Raw;
  * @author Laurens Loots, Pieter Vos
  */
 @SuppressWarnings("serial")
-public class IllegalActionPointsException extends RuntimeException 
+public class IllegalActionPointsException extends WormException 
 {
 	/**
 	 * Initialize this new illegal action points exception with the given amount of action points 
@@ -25,12 +25,13 @@ public class IllegalActionPointsException extends RuntimeException
 	 * 			| new.getActionPoints() == actionPoints
 	 * @post	The worm of this new illegal action points exception is equal to the given worm.
 	 * 			| new.getWorm() == worm
-	 * @effect	This new illegal action points exception is further initialized as a new runtime exception
-	 * 			involving no diagnostic message and no cause.
-	 * 			| super()
+	 * @effect	This new illegal action points exception is further initialized as a new worm exception
+	 * 			involving a diagnostic message.
+	 * 			| super("You can not jump without action points!")
 	 */
 	public IllegalActionPointsException(int actionPoints, Worm worm)
 	{
+		super("You can not jump without action points!");
 		this.actionPoints= actionPoints;
 		this.worm = worm;
 	}
@@ -12,7 +12,7 @@ import be.kuleuven.cs.som.annotate.Raw;
  * @author Laurens Loots, Pieter Vos
  */
 @SuppressWarnings("serial")
-public class IllegalDirectionException extends RuntimeException
+public class IllegalDirectionException extends WormException
 {
 	/**
 	 * Initialize this new illegal direction exception with given direction and given worm.
@@ -25,12 +25,13 @@ public class IllegalDirectionException extends RuntimeException
 	 * 			| new.getDirection() == direction
 	 * @post	The worm of this new illegal direction exception is equal to the given worm.
 	 * 			| new.getWorm() == worm
-	 * @effect	This new illegal direction exception is further initialized as a new runtime exception
-	 * 			involving no diagnostic message and no cause.
-	 * 			| super()
+	 * @effect	This new illegal direction exception is further initialized as a new worm exception
+	 * 			involving a diagnostic message.
+	 * 			| super("You can not jump in this direction!")
 	 */
 	public IllegalDirectionException(double direction, Worm worm)
 	{
+		super("You can not jump in this direction!");
 		this.direction = direction;
 		this.worm = worm;
 	}
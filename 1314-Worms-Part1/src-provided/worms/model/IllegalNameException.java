@@ -11,7 +11,7 @@ import be.kuleuven.cs.som.annotate.Raw;
  * @author Laurens Loots, Pieter Vos
  */
 @SuppressWarnings("serial")
-public class IllegalNameException extends RuntimeException 
+public class IllegalNameException extends WormException 
 {
 	/**
 	 * Initialize this new illegal name exception with given name and given worm.
@@ -24,12 +24,13 @@ public class IllegalNameException extends RuntimeException
 	 * 			| new.getName() == name
 	 * @post	The worm of this new illegal name exception is equal to the given worm.
 	 * 			| new.getWorm() == worm
-	 * @effect	This new illegal name exception is further initialized as a new runtime exception
-	 * 			involving no diagnostic message and no cause.
-	 * 			| super()
+	 * @effect	This new illegal name exception is further initialized as a new worm exception
+	 * 			involving a diagnostic message.
+	 * 			| super("This is not a valid name!")
 	 */
 	public IllegalNameException(String name, Worm worm)
 	{
+		super("This is not a valid name!");
 		this.name = name;
 		this.worm = worm;
 	}
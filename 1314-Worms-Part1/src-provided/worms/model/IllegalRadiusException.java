@@ -12,7 +12,7 @@ import be.kuleuven.cs.som.annotate.Raw;
  * @author Laurens Loots, Pieter Vos
  */
 @SuppressWarnings("serial")
-public class IllegalRadiusException extends RuntimeException
+public class IllegalRadiusException extends WormException
 {
 	/**
 	 * Initialize this new illegal radius exception with given radius and given worm.
@@ -25,12 +25,13 @@ public class IllegalRadiusException extends RuntimeException
 	 * 			| new.getRadius() == radius
 	 * @post	The worm of this new illegal radius exception is equal to the given worm.
 	 * 			| new.getWorm() == worm
-	 * @effect	This new illegal radius exception is further initialized as a new runtime exception
-	 * 			involving no diagnostic message and no cause.
-	 * 			| super()
+	 * @effect	This new illegal radius exception is further initialized as a new worm exception
+	 * 			involving a diagnostic message.
+	 * 			| super("This is not a valid radius!")
 	 */
 	public IllegalRadiusException(double radius, Worm worm)
 	{
+		super("This is not a valid radius!");
 		this.radius = radius;
 		this.worm = worm;
 	}
@@ -0,0 +1,21 @@
+package worms.model;
+
+/**
+ * An enumeration of the outcomes of asking whether a worm can jump.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+public enum JumpStatus {
+	/**
+	 * The worm can jump.
+	 */
+	Possible,
+	/**
+	 * The worm cannot jump, because it has no action points left.
+	 */
+	NoActionPoints,
+	/**
+	 * The worm cannot jump, because it is looking downwards.
+	 */
+	InvalidDirection
+}
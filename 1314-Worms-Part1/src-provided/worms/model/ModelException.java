@@ -18,4 +18,16 @@ public class ModelException extends RuntimeException {
 	public ModelException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	/**
+	 * Like worm exceptions, model exceptions skip the stack trace when
+	 * WormException.areStackTracesEnabled() is false.
+	 */
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		if (!WormException.areStackTracesEnabled()) {
+			return this;
+		}
+		return super.fillInStackTrace();
+	}
 }
\ No newline at end of file
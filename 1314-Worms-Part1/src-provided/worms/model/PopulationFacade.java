@@ -0,0 +1,44 @@
+package worms.model;
+
+/**
+ * A facade creating all its worms in one shared worm population,
+ * so that the state of all worms of a game is stored in the same parallel arrays.
+ *
+ * @author Laurens Loots, Pieter Vos
+ */
+public class PopulationFacade extends Facade {
+
+	public PopulationFacade() {
+		this(new WormPopulation());
+	}
+
+	public PopulationFacade(WormPopulation population) {
+		this.population = population;
+	}
+
+	public WormPopulation getPopulation() {
+		return population;
+	}
+
+	private final WormPopulation population;
+
+	@Override
+	public WormSpatialIndex getSpatialIndex() {
+		return population.getSpatialIndex();
+	}
+
+	@Override
+	public Worm createWorm(double x, double y, double direction, double radius,
+			String name) throws ModelException{
+		try{
+			return new Worm(population,x,y,direction,radius,name);
+		}
+		catch(IllegalRadiusException z){
+			throw translate(z);
+		}
+		catch(IllegalNameException z){
+			throw translate(z);
+		}
+	}
+
+}
@@ -0,0 +1,320 @@
+package worms.model;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of worm populations holding a single worm, storing its state in fields instead of arrays.
+ * 	Each worm that is not created in a population of its own choice gets such a population,
+ * 	so that only worms in a shared population pay for the parallel arrays.
+ *
+ * @invar	A single worm population holds at most one worm, in slot 0.
+ * 			| size() <= 1
+ *
+ * @version 1.0
+ * @author Laurens Loots, Pieter Vos
+ */
+class SingleWormPopulation extends AbstractWormPopulation {
+
+	/**
+	 * Create a new, empty single worm population.
+	 *
+	 * @post	The new population holds no worms.
+	 * 			| new.size() == 0
+	 */
+	SingleWormPopulation()
+	{
+	}
+
+	@Override @Basic @Raw
+	public int size()
+	{
+		return this.size;
+	}
+
+	@Override @Basic @Raw
+	public int getCapacity()
+	{
+		return 1;
+	}
+
+	/**
+	 * @throws	IllegalStateException("A single worm population holds one worm.")
+	 * 			This population already holds its worm.
+	 * 			| size() == 1
+	 */
+	@Override @Model
+	int allocate()
+			throws IllegalStateException
+	{
+		if(size == 1)
+			throw new IllegalStateException("A single worm population holds one worm.");
+		size = 1;
+		clearSlot(0);
+		return 0;
+	}
+
+	/**
+	 * Put the default state of a fresh worm in the slot of this population.
+	 */
+	private void clearSlot(int index)
+	{
+		x = 0;
+		y = 0;
+		direction = 0;
+		directionCos = 1;
+		directionSin = 0;
+		stepCost = 1;
+		radius = 0;
+		minRadius = DEFAULT_MINIMAL_RADIUS;
+		mass = 0;
+		maxActionPoints = 0;
+		currentActionPoints = 0;
+		name = " ";
+		version = 0;
+		clearJumpParameters(index);
+	}
+
+	@Override @Model
+	void discard(int index)
+			throws IllegalArgumentException
+	{
+		if(index != size - 1)
+			throw new IllegalArgumentException("Only the last slot can be given back.");
+		name = null;
+		size = 0;
+	}
+
+	/**
+	 * @throws	IllegalArgumentException("A single worm population holds one worm.")
+	 * 			The given capacity is larger than one.
+	 * 			| capacity > 1
+	 */
+	@Override
+	public void ensureCapacity(int capacity)
+			throws IllegalArgumentException
+	{
+		if(capacity > 1)
+			throw new IllegalArgumentException("A single worm population holds one worm.");
+	}
+
+	@Override @Basic @Raw
+	public double getX(int index)
+	{
+		return x;
+	}
+
+	@Override @Model
+	void setX(int index, double value)
+	{
+		x = value;
+	}
+
+	@Override @Basic @Raw
+	public double getY(int index)
+	{
+		return y;
+	}
+
+	@Override @Model
+	void setY(int index, double value)
+	{
+		y = value;
+	}
+
+	@Override @Basic @Raw
+	public double getDirection(int index)
+	{
+		return direction;
+	}
+
+	@Override @Model
+	void setDirection(int index, double value)
+	{
+		direction = value;
+	}
+
+	@Override @Basic @Raw
+	public double getDirectionCos(int index)
+	{
+		return directionCos;
+	}
+
+	@Override @Basic @Raw
+	public double getDirectionSin(int index)
+	{
+		return directionSin;
+	}
+
+	@Override @Basic @Raw
+	public double getStepCost(int index)
+	{
+		return stepCost;
+	}
+
+	@Override @Model
+	void setDirectionCache(int index, double cos, double sin, double cost)
+	{
+		directionCos = cos;
+		directionSin = sin;
+		stepCost = cost;
+	}
+
+	@Override @Basic @Raw
+	public double getRadius(int index)
+	{
+		return radius;
+	}
+
+	@Override @Model
+	void setRadius(int index, double value)
+	{
+		radius = value;
+	}
+
+	@Override @Basic @Raw
+	public double getMinimalRadius(int index)
+	{
+		return minRadius;
+	}
+
+	@Override @Model
+	void setMinimalRadius(int index, double value)
+	{
+		minRadius = value;
+	}
+
+	@Override @Basic @Raw
+	public double getMass(int index)
+	{
+		return mass;
+	}
+
+	@Override @Model
+	void setMass(int index, double value)
+	{
+		mass = value;
+	}
+
+	@Override @Basic @Raw
+	public long getMaxActionPoints(int index)
+	{
+		return maxActionPoints;
+	}
+
+	@Override @Model
+	void setMaxActionPoints(int index, long value)
+	{
+		maxActionPoints = value;
+	}
+
+	@Override @Basic @Raw
+	public long getCurrentActionPoints(int index)
+	{
+		return currentActionPoints;
+	}
+
+	@Override @Model
+	void setCurrentActionPoints(int index, long value)
+	{
+		currentActionPoints = value;
+	}
+
+	@Override @Basic @Raw
+	public String getName(int index)
+	{
+		return name;
+	}
+
+	@Override @Model
+	void setName(int index, String value)
+	{
+		name = value;
+	}
+
+	@Override @Basic @Raw
+	public long getVersion(int index)
+	{
+		return version;
+	}
+
+	@Override @Model
+	void incrementVersion(int index)
+	{
+		version++;
+	}
+
+	@Override @Basic @Raw
+	double getInitialVelocity(int index)
+	{
+		return initialVelocity;
+	}
+
+	@Override @Model
+	void setInitialVelocity(int index, double value)
+	{
+		initialVelocity = value;
+	}
+
+	@Override @Basic @Raw
+	double getJumpDistance(int index)
+	{
+		return jumpDistance;
+	}
+
+	@Override @Model
+	void setJumpDistance(int index, double value)
+	{
+		jumpDistance = value;
+	}
+
+	@Override @Basic @Raw
+	double getJumpTime(int index)
+	{
+		return jumpTime;
+	}
+
+	@Override @Model
+	void setJumpTime(int index, double value)
+	{
+		jumpTime = value;
+	}
+
+	@Override @Model
+	void clearJumpParameters(int index)
+	{
+		initialVelocity = Double.NaN;
+		jumpDistance = Double.NaN;
+		jumpTime = Double.NaN;
+	}
+
+	/**
+	 * Variable registering whether this population holds its worm.
+	 */
+	private int size = 0;
+
+	/**
+	 * Variables registering the state of the worm of this population.
+	 */
+	private double x;
+	private double y;
+	private double direction;
+	private double directionCos;
+	private double directionSin;
+	private double stepCost;
+	private double radius;
+	private double minRadius;
+	private double mass;
+	private long maxActionPoints;
+	private long currentActionPoints;
+	private String name;
+	private long version;
+
+	/**
+	 * Variables remembering the jump parameters derived from the state of the worm, NaN when unknown.
+	 */
+	private double initialVelocity;
+	private double jumpDistance;
+	private double jumpTime;
+}
@@ -5,6 +5,7 @@
 package worms.model;
 
 import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
 import be.kuleuven.cs.som.annotate.Model;
 import be.kuleuven.cs.som.annotate.Raw;
 
@@ -12,6 +13,7 @@ import be.kuleuven.cs.som.annotate.Raw;
  * A class of worms involving an x-coordinate, an y-coordinate, a direction in radians, a radius (in meter),
  * a minimum radius, a name, a mass (in kilogram), current amount of action points,
  * maximum amount of action points, a density and the standard acceleration.
+ * The state of a worm is stored in a slot of a worm population; a worm itself only refers to that slot.
  * @version 1.0
  * @author Laurens Loots, Pieter Vos
  */
@@ -54,18 +56,82 @@ public class Worm {
 	 * 			amount of action points if the radius is a valid radius for any worm.
 	 * 			| this.setRadius()
 	 * 			| this.setCurrentActionPoints(new.getMaxActionPoints())
+	 * @note	The state of the new worm is stored in fields of a population of its own,
+	 * 			rather than in the arrays of a shared population.
 	 */
 	public Worm(double x, double y, double direction, double radius,String name) 
 			throws IllegalRadiusException, IllegalNameException
 	{
-		setX(x);
-		setY(y);
-		setDirection(direction);
-		setRadius(radius);
-		setCurrentActionPoints(getMaxActionPoints());
-		setName(name);
+		this(new SingleWormPopulation(), x, y, direction, radius, name);
 	}
 	
+	/**
+	 * Create a new worm in the given population that is positioned at the given location,
+	 * looks in the given direction, has the given radius, the given name,
+	 * the right mass and the right maximum amount of action points
+	 * 
+	 * @param	population
+	 * 			The population storing the state of the new worm.
+	 * @post	The population of this new worm is the given population.
+	 * 			| new.getPopulation() == population
+	 * @post	The new worm occupies the last slot of the given population.
+	 * 			| new.getIndex() == population.size() - 1
+	 * @effect	The new worm is initialized as a standalone worm with the given position, direction, radius and name.
+	 * 			| this(x, y, direction, radius, name)
+	 * @post	If the given population keeps a spatial index, the new worm is in that index.
+	 * 			| if(population.getSpatialIndex() != null)
+	 * 			|	then population.getSpatialIndex().contains(new)
+	 * @note	If the worm cannot be created, its slot is given back to the population.
+	 */
+	public Worm(AbstractWormPopulation population, double x, double y, double direction, double radius, String name) 
+			throws IllegalRadiusException, IllegalNameException
+	{
+		this.population = population;
+		this.index = population.allocate();
+		try {
+			setX(x);
+			setY(y);
+			setDirection(direction);
+			setRadius(radius);
+			setCurrentActionPoints(getMaxActionPoints());
+			setName(name);
+		} catch(RuntimeException exc) {
+			population.discard(index);
+			throw exc;
+		}
+		WormSpatialIndex spatialIndex = population.getSpatialIndex();
+		if(spatialIndex != null)
+			spatialIndex.add(this);
+	}
+	
+	
+	
+	/**
+	 * Return the population storing the state of this worm.
+	 */
+	@Basic @Raw @Immutable
+	public AbstractWormPopulation getPopulation() {
+		return this.population;
+	}
+	
+	/**
+	 * Return the index of the slot of this worm in its population.
+	 */
+	@Basic @Raw @Immutable
+	public int getIndex() {
+		return this.index;
+	}
+	
+	/**
+	 * Variable referencing the population storing the state of this worm.
+	 */
+	private final AbstractWormPopulation population;
+	
+	/**
+	 * Variable registering the slot of this worm in its population.
+	 */
+	private final int index;
+	
 
 	
 	/**
@@ -73,7 +139,7 @@ public class Worm {
 	 */
 	@Basic @Raw
 	public double getX() {
-		return this.x;
+		return population.getX(index);
 	}
 	
 	/**
@@ -83,11 +149,14 @@ public class Worm {
 	 * 			The new x-coordinate for this worm (in meter).
 	 * @post	The new x-coordinate for this worm is equal to the given x-coordinate.
 	 * 			| new.getX() == x
+	 * @effect	The version of this worm is incremented.
+	 * 			| incrementVersion()
 	 */
 	@Model
 	private void setX(double x)
 	{
-		this.x = x;
+		population.setX(index, x);
+		incrementVersion();
 	}
 	
 	/**
@@ -95,7 +164,7 @@ public class Worm {
 	 */
 	@Basic @Raw
 	public double getY() {
-		return this.y;
+		return population.getY(index);
 	}
 	
 	/**
@@ -105,11 +174,14 @@ public class Worm {
 	 * 			The new y-coordinate for this worm (in meter).
 	 * @post	The new y-coordinate for this worm is equal to the given y-coordinate.
 	 * 			| new.getY() == y
+	 * @effect	The version of this worm is incremented.
+	 * 			| incrementVersion()
 	 */
 	@Model
 	private void setY(double y)
 	{
-		this.y = y;
+		population.setY(index, y);
+		incrementVersion();
 	}
 	
 	/**
@@ -120,13 +192,61 @@ public class Worm {
 	 * @return	True if and only if the amount of steps is larger than zero 
 	 * 			and there are enough action points available for the move.
 	 * 			| nbSteps > 0 && 
-	 * 			| currentActionPoints >= Math.ceil((Math.abs(Math.cos(getDirection())) + Math.abs(4*Math.sin(getDirection()))) * nbSteps)
+	 * 			| getCurrentActionPoints() >= getMoveCost(nbSteps)
 	 */
 	@Raw
 	public boolean canMove(int nbSteps) 
 	{
 		return nbSteps > 0 && 
-				currentActionPoints >= Math.ceil((Math.abs(Math.cos(getDirection())) + Math.abs(4*Math.sin(getDirection()))) * nbSteps);
+				getCurrentActionPoints() >= getMoveCost(nbSteps);
+	}
+	
+	/**
+	 * Return the amount of action points needed to move the given number of steps in the current direction.
+	 * 
+	 * @param 	nbSteps
+	 * 			The amount of steps to move.
+	 * @return	The cost of a single step in the current direction, multiplied by the number of steps and rounded up.
+	 * 			| result == (long)Math.ceil((Math.abs(Math.cos(getDirection())) + Math.abs(4*Math.sin(getDirection()))) * nbSteps)
+	 */
+	@Raw
+	public long getMoveCost(int nbSteps)
+	{
+		return (long)Math.ceil(population.getStepCost(index) * nbSteps);
+	}
+	
+	/**
+	 * Return whether and why this worm can or cannot jump in its current state.
+	 * 
+	 * @return	NoActionPoints if the amount of current action points is zero.
+	 * 			| if(getCurrentActionPoints() == 0)
+	 * 			|	then result == JumpStatus.NoActionPoints
+	 * 			Otherwise InvalidDirection if the direction is greater than pi.
+	 * 			| else if(Math.PI < getDirection())
+	 * 			|	then result == JumpStatus.InvalidDirection
+	 * 			Otherwise Possible.
+	 * 			| else result == JumpStatus.Possible
+	 */
+	@Raw
+	public JumpStatus getJumpStatus()
+	{
+		if(getCurrentActionPoints() == 0)
+			return JumpStatus.NoActionPoints;
+		if(Math.PI < getDirection())
+			return JumpStatus.InvalidDirection;
+		return JumpStatus.Possible;
+	}
+	
+	/**
+	 * Check whether this worm can jump in its current state.
+	 * 
+	 * @return	True if and only if the jump status of this worm is Possible.
+	 * 			| result == (getJumpStatus() == JumpStatus.Possible)
+	 */
+	@Raw
+	public boolean canJump()
+	{
+		return getJumpStatus() == JumpStatus.Possible;
 	}
 	
 	/**
@@ -147,14 +267,78 @@ public class Worm {
 	public double[] getJumpStep(double t) 
 			throws IllegalActionPointsException, IllegalDirectionException
 	{
-		double horizontalVelocity = getInitialVelocity() * Math.cos(getDirection());
-		double xPosition = getX() + horizontalVelocity * t;
-		double verticalVelocity = getInitialVelocity() * Math.sin(getDirection());
-		double yPosition = getY() + verticalVelocity*t - (STANDARD_ACCELERATION*Math.pow(t,2))/2.0;
-		double[] position = {xPosition, yPosition};
+		double[] position = new double[2];
+		storeJumpStep(getInitialVelocity(), t, position, 0);
 		return position;
 	}
 	
+	/**
+	 * Store the given number of evenly spaced positions on the trajectory of a jump
+	 * in the given array, as consecutive pairs of x- and y-coordinates.
+	 * 
+	 * @param 	nbSamples
+	 * 			The number of positions to store.
+	 * @param 	positions
+	 * 			The array to store the positions in.
+	 * @post	The i-th pair of the given array holds the position of the worm
+	 * 			after i out of nbSamples parts of the jump time, for i from 1 up to nbSamples.
+	 * 			| for each i in 1..nbSamples:
+	 * 			|	new.positions[2*(i-1)] == getJumpStep(i * getJumpTime() / nbSamples)[0]
+	 * 			|	new.positions[2*(i-1)+1] == getJumpStep(i * getJumpTime() / nbSamples)[1]
+	 * @throws	IllegalArgumentException("The number of positions cannot be negative.")
+	 * 			The given number of positions is negative.
+	 * 			| nbSamples < 0
+	 * @throws	IllegalArgumentException("The positions array is too small.")
+	 * 			The given array cannot hold the given number of positions.
+	 * 			| positions.length < 2*nbSamples
+	 * @throws	IllegalActionPointsException(0,this)
+	 * 			It is not possible to perform a jump (and have a trajectory)
+	 * 			if the amount of current action points is zero.
+	 * 			| getCurrentActionPoints() == 0
+	 * @throws 	IllegalDirectionException(getDirection(),this)
+	 * 			It is not possible to perform a jump (and have a trajectory)
+	 * 			if the direction is greater than pi.
+	 * 			| Math.PI < getDirection()
+	 */
+	public void sampleJumpTrajectory(int nbSamples, double[] positions) 
+			throws IllegalArgumentException, IllegalActionPointsException, IllegalDirectionException
+	{
+		if(nbSamples < 0)
+			throw new IllegalArgumentException("The number of positions cannot be negative.");
+		if(positions.length / 2 < nbSamples)
+			throw new IllegalArgumentException("The positions array is too small.");
+		double initialVelocity = getInitialVelocity();
+		double jumpTime = getJumpTime();
+		for(int i = 1; i <= nbSamples; i++)
+			storeJumpStep(initialVelocity, i * jumpTime / nbSamples, positions, 2*(i-1));
+	}
+	
+	/**
+	 * Store the position of the worm at a given time in a jump with the given initial velocity
+	 * in the given array, starting at the given offset.
+	 * 
+	 * @param 	initialVelocity
+	 * 			The initial velocity of the jump.
+	 * @param 	t
+	 * 			The time to check the position of the worm.
+	 * @param 	positions
+	 * 			The array to store the position in.
+	 * @param 	offset
+	 * 			The index of the x-coordinate in the given array, the y-coordinate is stored right after it.
+	 * @post	The given array holds the position of the worm at the given time in the jump.
+	 * 			| new.positions[offset] == getX() + initialVelocity * Math.cos(getDirection()) * t
+	 * 			| new.positions[offset+1] == getY() + initialVelocity * Math.sin(getDirection()) * t
+	 * 			|	- (STANDARD_ACCELERATION*Math.pow(t,2))/2.0
+	 */
+	@Model
+	private void storeJumpStep(double initialVelocity, double t, double[] positions, int offset)
+	{
+		double horizontalVelocity = initialVelocity * population.getDirectionCos(index);
+		double verticalVelocity = initialVelocity * population.getDirectionSin(index);
+		positions[offset] = getX() + horizontalVelocity * t;
+		positions[offset+1] = getY() + verticalVelocity*t - (STANDARD_ACCELERATION*t*t)/2.0;
+	}
+	
 	/**
 	 * Calculate the jump time from a jump in the current direction with the number of remaining action points.
 	 * 
@@ -168,11 +352,18 @@ public class Worm {
 	 * 			It is not possible to perform a jump (and have a jump time)
 	 * 			if the direction is greater than pi.
 	 * 			| Math.PI < getDirection()
+	 * @note	The jump time is remembered until the action points, the direction or the radius change.
 	 */
 	public double getJumpTime() 
 			throws IllegalActionPointsException, IllegalDirectionException
 	{
-		return getDistance()/(getInitialVelocity() * Math.cos(getDirection()));
+		double initialVelocity = getInitialVelocity();
+		double jumpTime = population.getJumpTime(index);
+		if(Double.isNaN(jumpTime)) {
+			jumpTime = getDistance()/(initialVelocity * population.getDirectionCos(index));
+			population.setJumpTime(index, jumpTime);
+		}
+		return jumpTime;
 	}
 	
 	/**
@@ -190,12 +381,19 @@ public class Worm {
 	 * 			It is not possible to perform a jump (and have a distance for a jump)
 	 * 			if the direction is greater than pi.
 	 * 			| Math.PI < getDirection()
+	 * @note	The distance is remembered until the action points, the direction or the radius change.
 	 */
 	@Model
 	private double getDistance() 
 			throws IllegalActionPointsException, IllegalDirectionException
 	{
-		return (Math.pow(getInitialVelocity(), 2) * Math.sin(2*getDirection()))/STANDARD_ACCELERATION;
+		double initialVelocity = getInitialVelocity();
+		double distance = population.getJumpDistance(index);
+		if(Double.isNaN(distance)) {
+			distance = (initialVelocity * initialVelocity * Math.sin(2*getDirection()))/STANDARD_ACCELERATION;
+			population.setJumpDistance(index, distance);
+		}
+		return distance;
 	}
 	
 	/**
@@ -213,17 +411,39 @@ public class Worm {
 	 * 			It is not possible to perform a jump (and have an initial velocity for a jump)
 	 * 			if the direction is greater than pi.
 	 * 			| Math.PI < getDirection()
+	 * @note	The initial velocity is remembered until the action points, the direction or the radius change.
 	 */
 	@Model
 	private double getInitialVelocity() 
 			throws IllegalActionPointsException, IllegalDirectionException
 	{
-		if(getCurrentActionPoints() == 0)
+		switch(getJumpStatus()) {
+		case NoActionPoints:
 			throw new IllegalActionPointsException(0,this);
-		if(Math.PI < getDirection())
+		case InvalidDirection:
 			throw new IllegalDirectionException(getDirection(),this);
-		double force = (5.0*(double)getCurrentActionPoints()) + (getMass() * STANDARD_ACCELERATION);
-		return (force/getMass()) * 0.5;
+		default:
+			break;
+		}
+		double initialVelocity = population.getInitialVelocity(index);
+		if(Double.isNaN(initialVelocity)) {
+			double force = (5.0*(double)getCurrentActionPoints()) + (getMass() * STANDARD_ACCELERATION);
+			initialVelocity = (force/getMass()) * 0.5;
+			population.setInitialVelocity(index, initialVelocity);
+		}
+		return initialVelocity;
+	}
+	
+	/**
+	 * Forget the remembered initial velocity, distance and time of a jump of this worm,
+	 * because the state they are derived from has changed.
+	 * 
+	 * @post	The jump parameters are calculated again the next time they are needed.
+	 */
+	@Model @Raw
+	private void invalidateJumpParameters()
+	{
+		population.clearJumpParameters(index);
 	}
 	
 	/**
@@ -236,6 +456,9 @@ public class Worm {
 	 * 			The new amount of current action points is zero.
 	 * 			| new.getX() == getX() + getDistance()
 	 * 			| new.getCurrentActionPoints() == 0
+	 * @post	If the population of this worm keeps a spatial index, this worm is in the cell of its new position.
+	 * 			| if(getPopulation().getSpatialIndex() != null)
+	 * 			|	then getPopulation().getSpatialIndex().contains(new)
 	 * @throws	IllegalActionPointsException(0,this)
 	 * 			It is not possible to perform a jump if the amount of current action points is zero.
 	 * 			| getCurrentActionPoints() == 0
@@ -249,6 +472,7 @@ public class Worm {
 		double distance = getDistance();
 		setX(getX() + distance);
 		setCurrentActionPoints(0);
+		updateSpatialIndex();
 	}
 	
 	/**
@@ -262,7 +486,10 @@ public class Worm {
 	 * 			| new.getX() == getX() + Math.cos(getDirection()) * getRadius() * nbSteps
 	 * 			| new.getY() == getY() + Math.sin(getDirection()) * getRadius() * nbSteps
 	 * 			| new.getCurrentActionPoints() ==
-	 * 			|		 getCurrentActionPoints() - (long)Math.ceil((Math.abs(Math.cos(getDirection())) + Math.abs(4*Math.sin(getDirection()))) * nbSteps)
+	 * 			|		 getCurrentActionPoints() - getMoveCost(nbSteps)
+	 * @post	If the population of this worm keeps a spatial index, this worm is in the cell of its new position.
+	 * 			| if(getPopulation().getSpatialIndex() != null)
+	 * 			|	then getPopulation().getSpatialIndex().contains(new)
 	 * @Throws	IllegalArgumentException("The argument 'number of steps' is invalid.")
 	 * 			The given amount of steps is not a valid amount of steps.
 	 * 			| !canMove(nbSteps)
@@ -273,22 +500,23 @@ public class Worm {
 		if(! canMove(nbSteps))
 			throw new IllegalArgumentException("The argument 'number of steps' is invalid.");
 		
-		setX(getX() + Math.cos(getDirection()) * getRadius() * nbSteps);
-		setY(getY() + Math.sin(getDirection()) * getRadius() * nbSteps);
+		setX(getX() + population.getDirectionCos(index) * getRadius() * nbSteps);
+		setY(getY() + population.getDirectionSin(index) * getRadius() * nbSteps);
 		
-		long costOfActionPoints = (long)Math.ceil((Math.abs(Math.cos(getDirection())) + Math.abs(4*Math.sin(getDirection()))) * nbSteps);
-		setCurrentActionPoints(getCurrentActionPoints() - costOfActionPoints);
+		setCurrentActionPoints(getCurrentActionPoints() - getMoveCost(nbSteps));
+		updateSpatialIndex();
 	}
 	
 	/**
-	 * Variable registering the x-coordinate of a worm in meters.
+	 * Move this worm to the cell of its current position in the spatial index of its population, if any.
 	 */
-	private double x;
-	
-	/**
-	 * Variable registering the y-coordinate of a worm in meters.
-	 */
-	private double y;
+	@Model
+	private void updateSpatialIndex()
+	{
+		WormSpatialIndex spatialIndex = population.getSpatialIndex();
+		if(spatialIndex != null)
+			spatialIndex.update(this);
+	}
 	
 	/**
 	 * Final class variable registering the standard acceleration (m/(s*s)).
@@ -304,7 +532,7 @@ public class Worm {
 	@Basic @Raw
 	public double getRadius() 
 	{
-		return this.radius;
+		return population.getRadius(index);
 	}
 	
 	/**
@@ -322,6 +550,9 @@ public class Worm {
 	 * 			amount of action points if the radius is a valid radius for any worm.
 	 * 			| this.setMass()
 	 * 			| this.setMaxActionPoints()
+	 * @post	If the population of this worm keeps a spatial index, this worm is indexed with its new radius.
+	 * @effect	The version of this worm is incremented.
+	 * 			| incrementVersion()
 	 */
 	@Raw
 	public void setRadius(double radius) 
@@ -329,16 +560,14 @@ public class Worm {
 	{
 		if(! canHaveAsRadius(radius))
 			throw new IllegalRadiusException(radius,this);
-		this.radius = radius;
+		population.setRadius(index, radius);
 		setMass();
 		setMaxActionPoints();
+		invalidateJumpParameters();
+		incrementVersion();
+		updateSpatialIndex();
 	}
 	
-	/**
-	 * 	Variable registering the radius of a worm.
-	 */
-	private double radius = 0;
-	
 	
 	
 
@@ -364,7 +593,7 @@ public class Worm {
 	@Basic @Raw
 	public double getMinimalRadius() 
 	{
-		return this.minRadius;
+		return population.getMinimalRadius(index);
 	}
 	
 	/**
@@ -374,6 +603,8 @@ public class Worm {
 	 * 			The new minimum radius of this worm.
 	 * @post	The new minimum radius of this worm is equal to the given minimum radius.
 	 * 			| new.getMinimalRadius() == minRadius
+	 * @effect	The version of this worm is incremented.
+	 * 			| incrementVersion()
 	 * @throws 	IllegalRadiusException(minRadius,this)
 	 * 			The given minimum radius is not a valid radius for any worm.
 	 * 			| (minRadius <= 0)
@@ -384,13 +615,10 @@ public class Worm {
 	{
 		if(minRadius <= 0)
 			throw new IllegalRadiusException(minRadius, this);
-		this.minRadius = minRadius;
+		population.setMinimalRadius(index, minRadius);
+		incrementVersion();
 	}
 	
-	/**
-	 * 	Variable registering the minimal radius of a worm.
-	 */
-	private double minRadius = 0.25;
 
 	
 	
@@ -402,7 +630,7 @@ public class Worm {
 	@Basic @Raw
 	public double getDirection() 
 	{
-		return this.direction;
+		return population.getDirection(index);
 	}
 	
 	/**
@@ -429,15 +657,32 @@ public class Worm {
 	 * 			|	then result == false
 	 * 			Otherwise, true if and only if the amount of action points needed for such a turn
 	 * 			is smaller than the current amount of action points.
-	 * 			| else result == (getCurrentActionPoints() >= (int)(Math.ceil(Math.abs(angle) / (2*Math.PI) * 60)))
+	 * 			| else result == (getCurrentActionPoints() >= getTurnCost(angle))
 	 */
 	@Raw
 	public boolean canTurn(double angle) {
 		if(Math.abs(angle) > Math.PI || angle == 0) {
 			return false;
 		}
-		return getCurrentActionPoints() >= (int)(Math.ceil(Math.abs(angle) / (2*Math.PI) * 60));
+		return getCurrentActionPoints() >= getTurnCost(angle);
+	}
+	
+	/**
+	 * Return the amount of action points needed to turn with the given angle.
+	 * 
+	 * @param 	angle
+	 * 			The angle to turn.
+	 * @return	The fraction of a full turn the given angle covers, multiplied by 60 and rounded up.
+	 * 			| result == (int)(Math.ceil(Math.abs(angle) / (2*Math.PI) * 60))
+	 */
+	public static int getTurnCost(double angle) {
+		return (int)(Math.ceil(Math.abs(angle) * TURN_COST_PER_RADIAN));
 	}
+	
+	/**
+	 * Final class variable registering the amount of action points a turn of one radian costs.
+	 */
+	private final static double TURN_COST_PER_RADIAN = 60 / (2*Math.PI);
 
 	/**
 	 * Changes the direction with the given angle.
@@ -450,7 +695,7 @@ public class Worm {
 	 * 			and possibly incremented or decremented with two pi.
 	 * 			The new amount of current action points is equal to the old amount 
 	 * 			decremented with the used action points
-	 * 			| new.getCurrentActionPoints == getCurrentActionPoints - (int)(Math.ceil(Math.abs(angle) / (2*Math.PI) * 60))
+	 * 			| new.getCurrentActionPoints == getCurrentActionPoints - getTurnCost(angle)
 	 * 			| if ((getDirection() + angle) > 2*Math.PI)
 	 * 			|	then (new.getDirection() == getDirection() + angle - 2*Math.PI)
 	 * 			| else if ((getDirection() + angle) < 0)
@@ -468,7 +713,7 @@ public class Worm {
 				orientation += 2*Math.PI;
 		}
 		setDirection(orientation);
-		setCurrentActionPoints(getCurrentActionPoints() - (int)(Math.ceil(Math.abs(angle) / (2*Math.PI) * 60)));
+		setCurrentActionPoints(getCurrentActionPoints() - getTurnCost(angle));
 	}
 	
 	/**
@@ -480,18 +725,22 @@ public class Worm {
 	 * 		    | isValidDirection(direction)
 	 * @post	The new direction of this worm is equal to the given direction.
 	 * 			| new.getDirection() == direction
+	 * @post	The unit direction vector and the cost of a single step are cached for the new direction.
+	 * 			| new.getMoveCost(1) == (long)Math.ceil(Math.abs(Math.cos(direction)) + Math.abs(4*Math.sin(direction)))
+	 * @effect	The version of this worm is incremented.
+	 * 			| incrementVersion()
 	 */
 	@Model @Raw
 	private void setDirection(double direction)
 	{
-		this.direction = direction;
+		population.setDirection(index, direction);
+		double cos = Math.cos(direction);
+		double sin = Math.sin(direction);
+		population.setDirectionCache(index, cos, sin, Math.abs(cos) + Math.abs(4*sin));
+		invalidateJumpParameters();
+		incrementVersion();
 	}
 	
-	/**
-	 * variable registering the direction of a worm.
-	 */
-	private double direction = 0;
-	
 
 	
 	
@@ -503,7 +752,7 @@ public class Worm {
 	@Basic @Raw
 	public double getMass() 
 	{
-		return this.mass;
+		return population.getMass(index);
 	}
 	
 	
@@ -525,14 +774,9 @@ public class Worm {
 	{
 		if(! canHaveAsRadius(getRadius()))
 			throw new IllegalRadiusException(getRadius(), this);
-		mass = DENSITY * ((4/3) * Math.PI * Math.pow(getRadius(),3));
+		population.setMass(index, DENSITY * ((4/3) * Math.PI * Math.pow(getRadius(),3)));
 	}
 	
-	/**
-	 * Variable registering the mass of a worm.
-	 */
-	private double mass = 0;
-	
 
 	
 	/**
@@ -550,7 +794,7 @@ public class Worm {
 	@Basic @Raw
 	public long getMaxActionPoints()
 	{
-		return this.maxActionPoints;
+		return population.getMaxActionPoints(index);
 	}
 	
 	/**
@@ -567,16 +811,11 @@ public class Worm {
 	@Raw @Model
 	private void setMaxActionPoints()
 	{
-		maxActionPoints = Math.round(getMass());
+		population.setMaxActionPoints(index, Math.round(getMass()));
 		if(getCurrentActionPoints() > getMaxActionPoints())
 			setCurrentActionPoints(getMaxActionPoints());
 	}
 	
-	/**
-	 * variable registering the maximum of action points of a worm, derived from the worm's mass.
-	 */
-	private long maxActionPoints = 0;
-	
 
 	
 	
@@ -585,7 +824,7 @@ public class Worm {
 	 */
 	@Basic @Raw
 	public long getCurrentActionPoints() {
-		return this.currentActionPoints;
+		return population.getCurrentActionPoints(index);
 	}
 	
 	/**
@@ -599,35 +838,64 @@ public class Worm {
 	 * 			|	then new.getCurrentActionPoints() == getCurrentActionPoints()
 	 * 			Else the new amount of current action points is equal to the given amount.
 	 * 			| else (new.getCurrentActionPoints() == newActionPoints)
+	 * @effect	If the amount of current action points is set, the version of this worm is incremented.
+	 * 			| if(newActionPoints >= 0 && newActionPoints <= getMaxActionPoints())
+	 * 			|	then incrementVersion()
 	 */
 	@Model @Raw
 	private void setCurrentActionPoints(long newActionPoints){
 		if(newActionPoints < 0 || newActionPoints > getMaxActionPoints())
 			return;
-		this.currentActionPoints = newActionPoints;
+		population.setCurrentActionPoints(index, newActionPoints);
+		invalidateJumpParameters();
+		incrementVersion();
 	}
 	
-	/**
-	 * variable registering the current amount of aciton points of a worm.
-	 */
-	private long currentActionPoints = 0;
 
 	
 	
 
 	/**
-	 * Check whether the given name is a valid name.
+	 * Check whether the given name is a valid name for this worm.
 	 * 
 	 * @param 	name
 	 * 			The name to check.
-	 * @return	True if and only if the given name is at least two characters long,
-	 * 			starts with an uppercase letter and only uses letters, quates and spaces.
-	 * 			| name.length()>1 && name.substring(0,1).matches("[A-Z]+") && name.matches("[A-Za-z '\"]+")
+	 * @return	True if and only if the given name is a valid name for any worm and, if the population
+	 * 			of this worm keeps a name registry, no other worm of that population has the given name.
+	 * 			| isValidName(name) && (getPopulation().getNameRegistry() == null ||
+	 * 			|	getPopulation().getNameRegistry().isAvailable(name, this))
 	 */
 	@Raw
 	public boolean canHaveAsName(String name)
 	{
-		return name.length()>1 && name.substring(0,1).matches("[A-Z]+") && name.matches("[A-Za-z '\"]+");
+		WormNameRegistry registry = population.getNameRegistry();
+		return isValidName(name) && (registry == null || registry.isAvailable(name, this));
+	}
+	
+	/**
+	 * Check whether the given name is a valid name for any worm.
+	 * 
+	 * @param 	name
+	 * 			The name to check.
+	 * @return	True if and only if the given name is at least two characters long,
+	 * 			starts with an uppercase letter and only uses letters, quotes and spaces.
+	 * 			| name.length()>1 && name.substring(0,1).matches("[A-Z]+") && name.matches("[A-Za-z '\"]+")
+	 * @note	The characters are scanned one by one, without regular expressions or copies of the name.
+	 */
+	public static boolean isValidName(String name)
+	{
+		int length = name.length();
+		if(length <= 1)
+			return false;
+		char first = name.charAt(0);
+		if(first < 'A' || first > 'Z')
+			return false;
+		for(int i = 1; i < length; i++) {
+			char c = name.charAt(i);
+			if(!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == ' ' || c == '\'' || c == '"'))
+				return false;
+		}
+		return true;
 	}
 	
 	/**
@@ -635,7 +903,7 @@ public class Worm {
 	 */
 	@Basic @Raw
 	public String getName() {
-		return this.name;
+		return population.getName(index);
 	}
 	
 	/**
@@ -645,6 +913,15 @@ public class Worm {
 	 * 			The new name for this worm.
 	 * @post	The new name of this worm is equal to the given name.
 	 * 			| new.getName() == name
+	 * @post	If the population of this worm keeps a name registry, the given name is registered for this worm
+	 * 			and the old name is released.
+	 * 			| if(getPopulation().getNameRegistry() != null)
+	 * 			|	then getPopulation().getNameRegistry().getWorm(name) == this
+	 * @effect	The version of this worm is incremented.
+	 * 			| incrementVersion()
+	 * @throws	IllegalNameException(name,this)
+	 * 			This worm cannot have the given name as its name.
+	 * 			| !canHaveAsName(name)
 	 */
 	@Raw
 	public void setName(String name) 
@@ -652,8 +929,32 @@ public class Worm {
 	{
 		if(! canHaveAsName(name))
 			throw new IllegalNameException(name,this);
-		this.name = name;
+		WormNameRegistry registry = population.getNameRegistry();
+		if(registry != null)
+			registry.rename(this, getName(), name);
+		population.setName(index, name);
+		incrementVersion();
+	}
+	
+	/**
+	 * Return the version of this worm, the number of times its state has been modified.
+	 * 	The version never decreases, so a consumer that remembers the version of a worm can tell
+	 * 	whether the worm changed since it last looked by comparing a single number.
+	 */
+	@Basic @Raw
+	public long getVersion() {
+		return population.getVersion(index);
 	}
 	
-	private String name =" ";
+	/**
+	 * Increment the version of this worm, because its state has been modified.
+	 * 
+	 * @post	The version of this worm is one more than before.
+	 * 			| new.getVersion() == getVersion() + 1
+	 */
+	@Model @Raw
+	private void incrementVersion()
+	{
+		population.incrementVersion(index);
+	}
 }
@@ -0,0 +1,135 @@
+package worms.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import be.kuleuven.cs.som.annotate.Basic;
+
+/**
+ * A class of exceptions signaling that a worm rejected an action.
+ * 	Every worm exception that is created is counted per type, so the number of rejected
+ * 	actions can be read at runtime. Filling in the stack trace dominates the cost of
+ * 	creating an exception, so games in which rejected actions are normal can switch it off.
+ * 	Worm exceptions are not model exceptions; the facade wraps them in one.
+ * 
+ * @author Laurens Loots, Pieter Vos
+ */
+@SuppressWarnings("serial")
+public abstract class WormException extends RuntimeException
+{
+	/**
+	 * Initialize this new worm exception with the given message.
+	 * 
+	 * @param	message
+	 * 			The diagnostic message for this new worm exception.
+	 * @post	The rejection count for the type of this new worm exception is incremented by one.
+	 * 			| getRejectionCount(getClass()) == old.getRejectionCount(getClass()) + 1
+	 * @effect	This new worm exception is further initialized as a new runtime exception
+	 * 			involving the given message and no cause.
+	 * 			| super(message)
+	 */
+	protected WormException(String message)
+	{
+		super(message);
+		counterFor(getClass()).incrementAndGet();
+	}
+	
+	
+	/**
+	 * Return the number of actions rejected for the reason of the given type of worm exceptions
+	 * since the counters were last reset.
+	 * 	This counts the worm exceptions of the given type that were created, as well as the
+	 * 	rejections of that type the facade decided without creating an exception.
+	 * 
+	 * @param	type
+	 * 			The type of worm exceptions to count.
+	 */
+	public static long getRejectionCount(Class<? extends WormException> type)
+	{
+		AtomicLong counter = rejectionCounts.get(type);
+		return counter == null ? 0 : counter.get();
+	}
+	
+	/**
+	 * Reset the rejection counters of all types of worm exceptions to zero.
+	 * 
+	 * @post	The rejection count of every type of worm exceptions is zero.
+	 * 			| for each type: getRejectionCount(type) == 0
+	 */
+	public static void resetRejectionCounts()
+	{
+		for(AtomicLong counter : rejectionCounts.values())
+			counter.set(0);
+	}
+	
+	/**
+	 * Check whether new worm exceptions, and the model exceptions the facade wraps them in,
+	 * fill in their stack trace.
+	 */
+	@Basic
+	public static boolean areStackTracesEnabled()
+	{
+		return stackTracesEnabled;
+	}
+	
+	/**
+	 * Set whether new worm exceptions, and the model exceptions the facade wraps them in,
+	 * fill in their stack trace.
+	 * 	This is a setting for the whole program; the launcher sets it once at start-up,
+	 * 	from the -nostacktraces option (see worms.Worms and worms.gui.GUIOptions).
+	 * 
+	 * @param	enabled
+	 * 			Whether stack traces are filled in.
+	 * @post	| areStackTracesEnabled() == enabled
+	 */
+	public static void setStackTracesEnabled(boolean enabled)
+	{
+		stackTracesEnabled = enabled;
+	}
+	
+	@Override
+	public synchronized Throwable fillInStackTrace()
+	{
+		if(!stackTracesEnabled)
+			return this;
+		return super.fillInStackTrace();
+	}
+	
+	/**
+	 * Count an action rejected for the reason of the given type of worm exceptions,
+	 * without creating such an exception.
+	 * 
+	 * @param	type
+	 * 			The type of worm exceptions to count the rejection for.
+	 * @post	The rejection count for the given type is incremented by one.
+	 * 			| getRejectionCount(type) == old.getRejectionCount(type) + 1
+	 */
+	static void countRejection(Class<? extends WormException> type)
+	{
+		counterFor(type).incrementAndGet();
+	}
+	
+	private static AtomicLong counterFor(Class<?> type)
+	{
+		AtomicLong counter = rejectionCounts.get(type);
+		if(counter == null) {
+			AtomicLong newCounter = new AtomicLong();
+			counter = rejectionCounts.putIfAbsent(type, newCounter);
+			if(counter == null)
+				counter = newCounter;
+		}
+		return counter;
+	}
+	
+	/**
+	 * Variable registering whether new worm exceptions fill in their stack trace.
+	 */
+	private static volatile boolean stackTracesEnabled = true;
+	
+	/**
+	 * Variable registering the number of created worm exceptions per type.
+	 */
+	private static final ConcurrentMap<Class<?>, AtomicLong> rejectionCounts =
+			new ConcurrentHashMap<Class<?>, AtomicLong>();
+}
@@ -0,0 +1,105 @@
+package worms.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of name registries, keeping the names of the worms in a game unique.
+ * 	Each registry indexes its worms by name in a hash map, so that checking, claiming
+ * 	and releasing a name takes constant time, however many worms are registered.
+ * 
+ * @version 1.0
+ * @author Laurens Loots, Pieter Vos
+ */
+public class WormNameRegistry {
+
+	/**
+	 * Return the number of names in this registry.
+	 */
+	@Basic @Raw
+	public int size()
+	{
+		return wormsByName.size();
+	}
+
+	/**
+	 * Return the worm registered with the given name, or null if there is none.
+	 * 
+	 * @param 	name
+	 * 			The name to look up.
+	 */
+	@Basic @Raw
+	public Worm getWorm(String name)
+	{
+		return wormsByName.get(name);
+	}
+
+	/**
+	 * Check whether the given worm can take the given name.
+	 * 
+	 * @param 	name
+	 * 			The name to check.
+	 * @param 	worm
+	 * 			The worm that wants the name.
+	 * @return	True if and only if no other worm is registered with the given name.
+	 * 			| result == (getWorm(name) == null || getWorm(name) == worm)
+	 */
+	public boolean isAvailable(String name, Worm worm)
+	{
+		Worm owner = wormsByName.get(name);
+		return owner == null || owner == worm;
+	}
+
+	/**
+	 * Register the given worm with its new name, releasing its old name.
+	 * 
+	 * @param 	worm
+	 * 			The worm that is renamed.
+	 * @param 	oldName
+	 * 			The name the worm had until now.
+	 * @param 	newName
+	 * 			The name the worm has from now on.
+	 * @post	The new name is registered for the given worm.
+	 * 			| new.getWorm(newName) == worm
+	 * @post	If the old name was registered for the given worm and differs from the new name, it is released.
+	 * 			| if(getWorm(oldName) == worm && !oldName.equals(newName))
+	 * 			|	then new.getWorm(oldName) == null
+	 * @throws	IllegalNameException(newName,worm)
+	 * 			Another worm is registered with the new name.
+	 * 			| !isAvailable(newName, worm)
+	 */
+	public void rename(Worm worm, String oldName, String newName)
+			throws IllegalNameException
+	{
+		if(! isAvailable(newName, worm))
+			throw new IllegalNameException(newName, worm);
+		if(oldName != null && wormsByName.get(oldName) == worm)
+			wormsByName.remove(oldName);
+		wormsByName.put(newName, worm);
+	}
+
+	/**
+	 * Release the given name, if it is registered for the given worm.
+	 * 
+	 * @param 	worm
+	 * 			The worm giving up its name.
+	 * @param 	name
+	 * 			The name to release.
+	 * @post	No worm is registered with the given name, if the given worm had it.
+	 * 			| if(getWorm(name) == worm)
+	 * 			|	then new.getWorm(name) == null
+	 */
+	public void release(Worm worm, String name)
+	{
+		if(wormsByName.get(name) == worm)
+			wormsByName.remove(name);
+	}
+
+	/**
+	 * Variable referencing the worms of this registry, indexed by their name.
+	 */
+	private final Map<String, Worm> wormsByName = new HashMap<String, Worm>();
+}
@@ -0,0 +1,374 @@
+package worms.model;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Model;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of worm populations, storing the state of all their worms in parallel primitive arrays.
+ * Each worm of a population is a lightweight handle referring to one slot of these arrays,
+ * so that walking over many worms touches contiguous memory instead of separate objects.
+ *
+ * @version 1.0
+ * @author Laurens Loots, Pieter Vos
+ */
+public class WormPopulation extends AbstractWormPopulation {
+
+	/**
+	 * Create a new, empty worm population with a default initial capacity.
+	 *
+	 * @effect	The new population is initialized with the default capacity.
+	 * 			| this(DEFAULT_CAPACITY)
+	 */
+	public WormPopulation()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new, empty worm population able to hold the given number of worms
+	 * before its arrays have to grow.
+	 *
+	 * @param 	initialCapacity
+	 * 			The initial capacity of the new population.
+	 * @post	The new population holds no worms.
+	 * 			| new.size() == 0
+	 * @throws	IllegalArgumentException("The initial capacity must be positive.")
+	 * 			The given capacity is not positive.
+	 * 			| initialCapacity <= 0
+	 */
+	public WormPopulation(int initialCapacity)
+			throws IllegalArgumentException
+	{
+		if(initialCapacity <= 0)
+			throw new IllegalArgumentException("The initial capacity must be positive.");
+		x = new double[initialCapacity];
+		y = new double[initialCapacity];
+		direction = new double[initialCapacity];
+		directionCos = new double[initialCapacity];
+		directionSin = new double[initialCapacity];
+		stepCost = new double[initialCapacity];
+		radius = new double[initialCapacity];
+		minRadius = new double[initialCapacity];
+		mass = new double[initialCapacity];
+		maxActionPoints = new long[initialCapacity];
+		currentActionPoints = new long[initialCapacity];
+		name = new String[initialCapacity];
+		version = new long[initialCapacity];
+		initialVelocity = new double[initialCapacity];
+		jumpDistance = new double[initialCapacity];
+		jumpTime = new double[initialCapacity];
+	}
+
+	@Override @Basic @Raw
+	public int size()
+	{
+		return this.size;
+	}
+
+	@Override @Basic @Raw
+	public int getCapacity()
+	{
+		return x.length;
+	}
+
+	@Override @Model
+	int allocate()
+	{
+		if(size == getCapacity())
+			ensureCapacity(2 * size);
+		int index = size++;
+		clearSlot(index);
+		return index;
+	}
+
+	/**
+	 * Put the default state of a fresh worm in the given slot.
+	 *
+	 * @param 	index
+	 * 			The index of the slot to clear.
+	 */
+	private void clearSlot(int index)
+	{
+		x[index] = 0;
+		y[index] = 0;
+		direction[index] = 0;
+		directionCos[index] = 1;
+		directionSin[index] = 0;
+		stepCost[index] = 1;
+		radius[index] = 0;
+		minRadius[index] = DEFAULT_MINIMAL_RADIUS;
+		mass[index] = 0;
+		maxActionPoints[index] = 0;
+		currentActionPoints[index] = 0;
+		name[index] = " ";
+		version[index] = 0;
+		clearJumpParameters(index);
+	}
+
+	@Override @Model
+	void discard(int index)
+			throws IllegalArgumentException
+	{
+		if(index != size - 1)
+			throw new IllegalArgumentException("Only the last slot can be given back.");
+		name[index] = null;
+		size--;
+	}
+
+	@Override
+	public void ensureCapacity(int capacity)
+	{
+		if(capacity <= getCapacity())
+			return;
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		direction = Arrays.copyOf(direction, capacity);
+		directionCos = Arrays.copyOf(directionCos, capacity);
+		directionSin = Arrays.copyOf(directionSin, capacity);
+		stepCost = Arrays.copyOf(stepCost, capacity);
+		radius = Arrays.copyOf(radius, capacity);
+		minRadius = Arrays.copyOf(minRadius, capacity);
+		mass = Arrays.copyOf(mass, capacity);
+		maxActionPoints = Arrays.copyOf(maxActionPoints, capacity);
+		currentActionPoints = Arrays.copyOf(currentActionPoints, capacity);
+		name = Arrays.copyOf(name, capacity);
+		version = Arrays.copyOf(version, capacity);
+		initialVelocity = Arrays.copyOf(initialVelocity, capacity);
+		jumpDistance = Arrays.copyOf(jumpDistance, capacity);
+		jumpTime = Arrays.copyOf(jumpTime, capacity);
+	}
+
+	/**
+	 * Variable registering the number of worms in this population.
+	 */
+	private int size = 0;
+
+	/**
+	 * Final class variable registering the default capacity of a population.
+	 */
+	private final static int DEFAULT_CAPACITY = 16;
+
+
+
+
+	@Override @Basic @Raw
+	public double getX(int index)
+	{
+		return x[index];
+	}
+
+	@Override @Model
+	void setX(int index, double value)
+	{
+		x[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public double getY(int index)
+	{
+		return y[index];
+	}
+
+	@Override @Model
+	void setY(int index, double value)
+	{
+		y[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public double getDirection(int index)
+	{
+		return direction[index];
+	}
+
+	@Override @Model
+	void setDirection(int index, double value)
+	{
+		direction[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public double getDirectionCos(int index)
+	{
+		return directionCos[index];
+	}
+
+	@Override @Basic @Raw
+	public double getDirectionSin(int index)
+	{
+		return directionSin[index];
+	}
+
+	@Override @Basic @Raw
+	public double getStepCost(int index)
+	{
+		return stepCost[index];
+	}
+
+	@Override @Model
+	void setDirectionCache(int index, double cos, double sin, double cost)
+	{
+		directionCos[index] = cos;
+		directionSin[index] = sin;
+		stepCost[index] = cost;
+	}
+
+	@Override @Basic @Raw
+	public double getRadius(int index)
+	{
+		return radius[index];
+	}
+
+	@Override @Model
+	void setRadius(int index, double value)
+	{
+		radius[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public double getMinimalRadius(int index)
+	{
+		return minRadius[index];
+	}
+
+	@Override @Model
+	void setMinimalRadius(int index, double value)
+	{
+		minRadius[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public double getMass(int index)
+	{
+		return mass[index];
+	}
+
+	@Override @Model
+	void setMass(int index, double value)
+	{
+		mass[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public long getMaxActionPoints(int index)
+	{
+		return maxActionPoints[index];
+	}
+
+	@Override @Model
+	void setMaxActionPoints(int index, long value)
+	{
+		maxActionPoints[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public long getCurrentActionPoints(int index)
+	{
+		return currentActionPoints[index];
+	}
+
+	@Override @Model
+	void setCurrentActionPoints(int index, long value)
+	{
+		currentActionPoints[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public String getName(int index)
+	{
+		return name[index];
+	}
+
+	@Override @Model
+	void setName(int index, String value)
+	{
+		name[index] = value;
+	}
+
+	@Override @Basic @Raw
+	public long getVersion(int index)
+	{
+		return version[index];
+	}
+
+	@Override @Model
+	void incrementVersion(int index)
+	{
+		version[index]++;
+	}
+
+	@Override @Basic @Raw
+	double getInitialVelocity(int index)
+	{
+		return initialVelocity[index];
+	}
+
+	@Override @Model
+	void setInitialVelocity(int index, double value)
+	{
+		initialVelocity[index] = value;
+	}
+
+	@Override @Basic @Raw
+	double getJumpDistance(int index)
+	{
+		return jumpDistance[index];
+	}
+
+	@Override @Model
+	void setJumpDistance(int index, double value)
+	{
+		jumpDistance[index] = value;
+	}
+
+	@Override @Basic @Raw
+	double getJumpTime(int index)
+	{
+		return jumpTime[index];
+	}
+
+	@Override @Model
+	void setJumpTime(int index, double value)
+	{
+		jumpTime[index] = value;
+	}
+
+	@Override @Model
+	void clearJumpParameters(int index)
+	{
+		initialVelocity[index] = Double.NaN;
+		jumpDistance[index] = Double.NaN;
+		jumpTime[index] = Double.NaN;
+	}
+
+	/**
+	 * Arrays registering the state of the worms in this population, one slot per worm.
+	 */
+	private double[] x;
+	private double[] y;
+	private double[] direction;
+	private double[] directionCos;
+	private double[] directionSin;
+	private double[] stepCost;
+	private double[] radius;
+	private double[] minRadius;
+	private double[] mass;
+	private long[] maxActionPoints;
+	private long[] currentActionPoints;
+	private String[] name;
+
+	/**
+	 * Array registering the modification counter of the worms in this population, one slot per worm.
+	 */
+	private long[] version;
+
+	/**
+	 * Arrays remembering the jump parameters derived from the state of the worms, NaN when unknown.
+	 */
+	private double[] initialVelocity;
+	private double[] jumpDistance;
+	private double[] jumpTime;
+}
@@ -0,0 +1,384 @@
+package worms.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import be.kuleuven.cs.som.annotate.Basic;
+import be.kuleuven.cs.som.annotate.Immutable;
+import be.kuleuven.cs.som.annotate.Raw;
+
+/**
+ * A class of spatial indexes, finding the worms near a position in a game without looking at all worms.
+ * 	Each index divides the world in a uniform grid of square cells and keeps every worm in the cell
+ * 	of its center, so that a query only looks at the worms in the cells it overlaps.
+ *
+ * @invar	The cell size of each spatial index is a positive number.
+ * 			| getCellSize() > 0
+ *
+ * @version 1.0
+ * @author Laurens Loots, Pieter Vos
+ */
+public class WormSpatialIndex {
+
+	/**
+	 * Create a new, empty spatial index with a default cell size.
+	 *
+	 * @effect	The new index is initialized with the default cell size.
+	 * 			| this(DEFAULT_CELL_SIZE)
+	 */
+	public WormSpatialIndex()
+	{
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Create a new, empty spatial index with cells of the given size.
+	 *
+	 * @param 	cellSize
+	 * 			The length of the sides of the cells of the new index (in meter).
+	 * @post	The cell size of the new index is the given size.
+	 * 			| new.getCellSize() == cellSize
+	 * @post	The new index holds no worms.
+	 * 			| new.size() == 0
+	 * @throws	IllegalArgumentException("The cell size must be positive.")
+	 * 			The given cell size is not a positive number.
+	 * 			| !(cellSize > 0) || Double.isInfinite(cellSize)
+	 */
+	public WormSpatialIndex(double cellSize)
+			throws IllegalArgumentException
+	{
+		if(!(cellSize > 0) || Double.isInfinite(cellSize))
+			throw new IllegalArgumentException("The cell size must be positive.");
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Return the length of the sides of the cells of this index (in meter).
+	 */
+	@Basic @Raw @Immutable
+	public double getCellSize()
+	{
+		return this.cellSize;
+	}
+
+	/**
+	 * Variable registering the length of the sides of the cells of this index.
+	 */
+	private final double cellSize;
+
+	/**
+	 * Final class variable registering the default cell size, a few times the radius of a worm in the game.
+	 */
+	private final static double DEFAULT_CELL_SIZE = 1;
+
+	/**
+	 * Return the number of worms in this index.
+	 */
+	@Basic @Raw
+	public int size()
+	{
+		return cellOfWorm.size();
+	}
+
+	/**
+	 * Check whether the given worm is in this index.
+	 *
+	 * @param 	worm
+	 * 			The worm to check.
+	 */
+	@Basic @Raw
+	public boolean contains(Worm worm)
+	{
+		return cellOfWorm.containsKey(worm);
+	}
+
+	/**
+	 * Put the given worm in this index, in the cell of its current position.
+	 *
+	 * @param 	worm
+	 * 			The worm to put in this index.
+	 * @post	The given worm is in this index.
+	 * 			| new.contains(worm)
+	 */
+	public void add(Worm worm)
+	{
+		if(contains(worm))
+			update(worm);
+		else
+			insert(worm, getCell(worm.getX(), worm.getY()));
+	}
+
+	/**
+	 * Move the given worm to the cell of its current position, if it is in this index.
+	 *
+	 * @param 	worm
+	 * 			The worm that has moved or changed its radius.
+	 */
+	public void update(Worm worm)
+	{
+		Long oldCell = cellOfWorm.get(worm);
+		if(oldCell == null)
+			return;
+		maxRadius = Math.max(maxRadius, worm.getRadius());
+		long newCell = getCell(worm.getX(), worm.getY());
+		if(oldCell.longValue() != newCell) {
+			removeFromCell(worm, oldCell);
+			insert(worm, newCell);
+		}
+	}
+
+	/**
+	 * Take the given worm out of this index.
+	 *
+	 * @param 	worm
+	 * 			The worm to take out.
+	 * @post	The given worm is not in this index.
+	 * 			| !new.contains(worm)
+	 */
+	public void remove(Worm worm)
+	{
+		Long cell = cellOfWorm.remove(worm);
+		if(cell != null)
+			removeFromCell(worm, cell);
+	}
+
+	private void insert(Worm worm, long cell)
+	{
+		Long key = Long.valueOf(cell);
+		List<Worm> worms = cells.get(key);
+		if(worms == null) {
+			worms = new ArrayList<Worm>(4);
+			cells.put(key, worms);
+		}
+		worms.add(worm);
+		cellOfWorm.put(worm, key);
+		maxRadius = Math.max(maxRadius, worm.getRadius());
+	}
+
+	private void removeFromCell(Worm worm, Long cell)
+	{
+		List<Worm> worms = cells.get(cell);
+		for(int i = 0; i < worms.size(); i++)
+			if(worms.get(i) == worm) {
+				worms.remove(i);
+				break;
+			}
+		if(worms.isEmpty())
+			cells.remove(cell);
+	}
+
+	/**
+	 * Return the worm whose body contains the given position and whose center is closest to it,
+	 * or null if no worm contains the given position.
+	 *
+	 * @param 	x
+	 * 			The x-coordinate of the position (in meter).
+	 * @param 	y
+	 * 			The y-coordinate of the position (in meter).
+	 */
+	public Worm getWormAt(double x, double y)
+	{
+		long minCellX = getCellCoordinate(x - maxRadius);
+		long maxCellX = getCellCoordinate(x + maxRadius);
+		long minCellY = getCellCoordinate(y - maxRadius);
+		long maxCellY = getCellCoordinate(y + maxRadius);
+		Worm result = null;
+		if(coversAllCells(minCellX, minCellY, maxCellX, maxCellY)) {
+			for(List<Worm> worms : cells.values())
+				result = getClosestWormAt(worms, x, y, result);
+		}
+		else
+			for(long cellX = minCellX; cellX <= maxCellX; cellX++)
+				for(long cellY = minCellY; cellY <= maxCellY; cellY++)
+					result = getClosestWormAt(getWorms(cellX, cellY), x, y, result);
+		return result;
+	}
+
+	/**
+	 * Return the worm among the given worms and the given closest worm so far whose body contains
+	 * the given position and whose center is closest to it, or null if there is no such worm.
+	 */
+	private static Worm getClosestWormAt(List<Worm> worms, double x, double y, Worm closestWorm)
+	{
+		if(worms == null)
+			return closestWorm;
+		double closest = closestWorm == null ? Double.POSITIVE_INFINITY : getDistance(closestWorm, x, y);
+		for(int i = 0; i < worms.size(); i++) {
+			Worm worm = worms.get(i);
+			double distance = getDistance(worm, x, y);
+			if(distance <= worm.getRadius() && distance < closest) {
+				closestWorm = worm;
+				closest = distance;
+			}
+		}
+		return closestWorm;
+	}
+
+	/**
+	 * Add the worms whose body overlaps the given circle to the given collection.
+	 *
+	 * @param 	x
+	 * 			The x-coordinate of the center of the circle (in meter).
+	 * @param 	y
+	 * 			The y-coordinate of the center of the circle (in meter).
+	 * @param 	radius
+	 * 			The radius of the circle (in meter).
+	 * @param 	result
+	 * 			The collection to add the worms to.
+	 * @return	The number of worms that were found.
+	 */
+	public int getWormsInCircle(double x, double y, double radius, Collection<? super Worm> result)
+	{
+		double reach = radius + maxRadius;
+		long minCellX = getCellCoordinate(x - reach);
+		long maxCellX = getCellCoordinate(x + reach);
+		long minCellY = getCellCoordinate(y - reach);
+		long maxCellY = getCellCoordinate(y + reach);
+		int count = 0;
+		if(coversAllCells(minCellX, minCellY, maxCellX, maxCellY)) {
+			for(List<Worm> worms : cells.values())
+				count += addWormsInCircle(worms, x, y, radius, result);
+		}
+		else
+			for(long cellX = minCellX; cellX <= maxCellX; cellX++)
+				for(long cellY = minCellY; cellY <= maxCellY; cellY++)
+					count += addWormsInCircle(getWorms(cellX, cellY), x, y, radius, result);
+		return count;
+	}
+
+	private static int addWormsInCircle(List<Worm> worms, double x, double y, double radius,
+			Collection<? super Worm> result)
+	{
+		if(worms == null)
+			return 0;
+		int count = 0;
+		for(int i = 0; i < worms.size(); i++) {
+			Worm worm = worms.get(i);
+			if(getDistance(worm, x, y) <= radius + worm.getRadius()) {
+				result.add(worm);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Add the worms whose body overlaps the given rectangle to the given collection.
+	 *
+	 * @param 	minX
+	 * 			The smallest x-coordinate of the rectangle (in meter).
+	 * @param 	minY
+	 * 			The smallest y-coordinate of the rectangle (in meter).
+	 * @param 	maxX
+	 * 			The largest x-coordinate of the rectangle (in meter).
+	 * @param 	maxY
+	 * 			The largest y-coordinate of the rectangle (in meter).
+	 * @param 	result
+	 * 			The collection to add the worms to.
+	 * @return	The number of worms that were found.
+	 */
+	public int getWormsInRectangle(double minX, double minY, double maxX, double maxY,
+			Collection<? super Worm> result)
+	{
+		long minCellX = getCellCoordinate(minX - maxRadius);
+		long maxCellX = getCellCoordinate(maxX + maxRadius);
+		long minCellY = getCellCoordinate(minY - maxRadius);
+		long maxCellY = getCellCoordinate(maxY + maxRadius);
+		int count = 0;
+		if(coversAllCells(minCellX, minCellY, maxCellX, maxCellY)) {
+			for(List<Worm> worms : cells.values())
+				count += addWormsInRectangle(worms, minX, minY, maxX, maxY, result);
+		}
+		else
+			for(long cellX = minCellX; cellX <= maxCellX; cellX++)
+				for(long cellY = minCellY; cellY <= maxCellY; cellY++)
+					count += addWormsInRectangle(getWorms(cellX, cellY), minX, minY, maxX, maxY, result);
+		return count;
+	}
+
+	private static int addWormsInRectangle(List<Worm> worms, double minX, double minY, double maxX, double maxY,
+			Collection<? super Worm> result)
+	{
+		if(worms == null)
+			return 0;
+		int count = 0;
+		for(int i = 0; i < worms.size(); i++) {
+			Worm worm = worms.get(i);
+			double dx = worm.getX() - Math.max(minX, Math.min(maxX, worm.getX()));
+			double dy = worm.getY() - Math.max(minY, Math.min(maxY, worm.getY()));
+			if(Math.sqrt(dx * dx + dy * dy) <= worm.getRadius()) {
+				result.add(worm);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Check whether the given range of cells covers at least as many cells as there are non-empty cells.
+	 * 	A query over such a range visits all non-empty cells instead, so that it does not walk
+	 * 	a large number of empty cells.
+	 */
+	private boolean coversAllCells(long minCellX, long minCellY, long maxCellX, long maxCellY)
+	{
+		return (maxCellX - minCellX + 1.0) * (maxCellY - minCellY + 1.0) >= cells.size();
+	}
+
+	/**
+	 * Return the worms in the cell with the given coordinates, or null if that cell is empty.
+	 */
+	private List<Worm> getWorms(long cellX, long cellY)
+	{
+		return cells.get(Long.valueOf(getCell(cellX, cellY)));
+	}
+
+	private static double getDistance(Worm worm, double x, double y)
+	{
+		double dx = worm.getX() - x;
+		double dy = worm.getY() - y;
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	private long getCellCoordinate(double coordinate)
+	{
+		return (long) Math.floor(coordinate / cellSize);
+	}
+
+	private long getCell(double x, double y)
+	{
+		return getCell(getCellCoordinate(x), getCellCoordinate(y));
+	}
+
+	/**
+	 * Pack the given cell coordinates in one key; coordinates beyond the range of an int share a cell.
+	 */
+	private static long getCell(long cellX, long cellY)
+	{
+		return ((long) (int) clamp(cellX) << 32) | ((int) clamp(cellY) & 0xFFFFFFFFL);
+	}
+
+	private static long clamp(long cellCoordinate)
+	{
+		return Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, cellCoordinate));
+	}
+
+	/**
+	 * Variable registering the largest radius any worm in this index has had (in meter).
+	 * 	A query looks this far beyond its area for worm centers, so that it finds all worms that overlap it.
+	 */
+	private double maxRadius = 0;
+
+	/**
+	 * Variable referencing the worms of this index, per non-empty cell.
+	 */
+	private final Map<Long, List<Worm>> cells = new HashMap<Long, List<Worm>>();
+
+	/**
+	 * Variable referencing the cell of each worm of this index.
+	 */
+	private final Map<Worm, Long> cellOfWorm = new IdentityHashMap<Worm, Long>();
+}
@@ -130,6 +130,16 @@ public class WormTest {
 		wormDirection4.jump();
 	}
 	
+	@Test
+	public void getJumpStatus_AllCases()
+	{
+		assertTrue(wormDirection2.getJumpStatus() == JumpStatus.Possible);
+		assertTrue(wormDirection4.getJumpStatus() == JumpStatus.InvalidDirection);
+		wormDirection2.jump();
+		assertTrue(wormDirection2.getJumpStatus() == JumpStatus.NoActionPoints);
+		assertFalse(wormDirection2.canJump());
+	}
+	
 	@Test
 	public void move_legalCase()
 		throws Exception	{
@@ -215,6 +225,20 @@ public class WormTest {
 		assertTrue(wormDirection2.getCurrentActionPoints() == oldActionPoints - (int)(Math.ceil(Math.abs(1) / (2*Math.PI) * 60)));
 	}
 	
+	@Test
+	public void getTurnCost_LegalCase()
+	{
+		assertTrue(Worm.getTurnCost(-1.0) == (int)(Math.ceil(Math.abs(-1.0) / (2*Math.PI) * 60)));
+		assertTrue(Worm.getTurnCost(Math.PI) == 30);
+	}
+	
+	@Test
+	public void getMoveCost_AfterTurn()
+	{
+		wormDirection2.turn(1.0);
+		assertTrue(wormDirection2.getMoveCost(3) == (long)Math.ceil((Math.abs(Math.cos(3.0)) + Math.abs(4*Math.sin(3.0))) * 3));
+	}
+	
 	@Test
 	public void setName_LegalCase()
 		throws IllegalNameException
@@ -223,6 +247,15 @@ public class WormTest {
 		assertTrue(wormDirection2.getName().equals("Pieter Vos"));
 	}
 	
+	@Test
+	public void isValidName_AllCases()
+	{
+		assertTrue(Worm.isValidName("Pieter 'Vos\""));
+		assertFalse(Worm.isValidName("P"));
+		assertFalse(Worm.isValidName("pieter"));
+		assertFalse(Worm.isValidName("Pieter2"));
+	}
+	
 	@Test( expected = IllegalNameException.class)
 	public void setName_IllegalCase()
 		throws IllegalNameException
@@ -231,4 +264,74 @@ public class WormTest {
 		wormDirection2.setName("Laurens'\" LoOtS");
 	}
 	
+	/**
+	 * Create a worm that can jump, whose jump parameters have not been asked for yet.
+	 */
+	private static Worm newJumpingWorm()
+	{
+		return new Worm(0.0 , 0.0 , 0.7 , 0.5 , "Pieter");
+	}
+	
+	/**
+	 * Ask the given worm for its jump parameters, so that it remembers them.
+	 */
+	private static void rememberJump(Worm worm)
+	{
+		worm.getJumpStep(worm.getJumpTime());
+	}
+	
+	private static void assertSameJump(Worm expected, Worm actual)
+	{
+		assertEquals(expected.getJumpTime(), actual.getJumpTime(), 1E-9);
+		double t = expected.getJumpTime();
+		assertArrayEquals(expected.getJumpStep(t / 2), actual.getJumpStep(t / 2), 1E-9);
+		assertArrayEquals(expected.getJumpStep(t), actual.getJumpStep(t), 1E-9);
+	}
+	
+	@Test
+	public void jumpParameters_AfterTurn()
+	{
+		Worm worm = newJumpingWorm();
+		rememberJump(worm);
+		worm.turn(0.3);
+		Worm fresh = newJumpingWorm();
+		fresh.turn(0.3);
+		assertSameJump(fresh, worm);
+	}
+	
+	@Test
+	public void jumpParameters_AfterMove()
+	{
+		Worm worm = newJumpingWorm();
+		rememberJump(worm);
+		worm.move(2);
+		Worm fresh = newJumpingWorm();
+		fresh.move(2);
+		assertSameJump(fresh, worm);
+	}
+	
+	@Test
+	public void jumpParameters_AfterSetRadius()
+	{
+		Worm worm = newJumpingWorm();
+		rememberJump(worm);
+		worm.setRadius(0.3);
+		Worm fresh = newJumpingWorm();
+		fresh.setRadius(0.3);
+		assertSameJump(fresh, worm);
+	}
+	
+	@Test
+	public void jumpParameters_AfterSetMinimalRadius()
+	{
+		Worm worm = newJumpingWorm();
+		rememberJump(worm);
+		worm.setMinimalRadius(0.1);
+		worm.setRadius(0.2);
+		Worm fresh = newJumpingWorm();
+		fresh.setMinimalRadius(0.1);
+		fresh.setRadius(0.2);
+		assertSameJump(fresh, worm);
+	}
+	
 }
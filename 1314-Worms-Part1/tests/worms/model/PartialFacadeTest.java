@@ -1,6 +1,8 @@
 package worms.model;
 import static org.junit.Assert.*;
 
+import java.util.BitSet;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -48,4 +50,122 @@ public class PartialFacadeTest {
 		facade.jump(worm);
 	}
 
+	@Test
+	public void testMoveAllReportsFailures() {
+		Worm[] worms = { facade.createWorm(0, 0, 0, 1, "Test"),
+				facade.createWorm(0, 0, 0, 1, "Test") };
+		BitSet failures = new BitSet();
+		assertEquals(1, facade.moveAll(worms, new int[] { 5, -1 }, failures));
+		assertEquals(5, facade.getX(worms[0]), EPS);
+		assertEquals(0, facade.getX(worms[1]), EPS);
+		assertFalse(failures.get(0));
+		assertTrue(failures.get(1));
+	}
+
+	@Test
+	public void testMoveAllClearsReusedFailures() {
+		Worm[] worms = { facade.createWorm(0, 0, 0, 1, "Test"),
+				facade.createWorm(0, 0, 0, 1, "Test") };
+		BitSet failures = new BitSet();
+		assertEquals(1, facade.moveAll(worms, new int[] { -1, 1 }, failures));
+		assertTrue(failures.get(0));
+		assertEquals(1, facade.moveAll(worms, new int[] { 1, -1 }, failures));
+		assertFalse(failures.get(0));
+		assertTrue(failures.get(1));
+		assertEquals(1, failures.cardinality());
+	}
+
+	@Test
+	public void testJumpAllReportsFailures() {
+		Worm[] worms = { facade.createWorm(0, 0, Math.PI / 4, 1, "Test"),
+				facade.createWorm(0, 0, 3 * Math.PI / 2, 1, "Test") };
+		BitSet failures = new BitSet();
+		assertEquals(1, facade.jumpAll(worms, failures));
+		assertEquals(0, facade.getActionPoints(worms[0]));
+		assertEquals(1, failures.cardinality());
+		assertTrue(failures.get(1));
+	}
+
+	@Test
+	public void testSampleJumpTrajectoryMatchesJumpStep() {
+		Worm worm = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		double time = facade.getJumpTime(worm);
+		double[] xy = new double[8];
+		assertEquals(4, facade.sampleJumpTrajectory(worm, 4, xy));
+		for (int i = 1; i <= 4; i++) {
+			double[] step = facade.getJumpStep(worm, i * time / 4);
+			assertEquals(step[0], xy[2 * (i - 1)], EPS);
+			assertEquals(step[1], xy[2 * (i - 1) + 1], EPS);
+		}
+	}
+
+	@Test
+	public void testSampleJumpTrajectoryCannotJump() {
+		Worm worm = facade.createWorm(0, 0, 3 * Math.PI / 2, 1, "Test");
+		assertEquals(0, facade.sampleJumpTrajectory(worm, 4, new double[8]));
+	}
+
+	@Test(expected = ModelException.class)
+	public void testSampleJumpTrajectoryNegativeCount() {
+		Worm worm = facade.createWorm(0, 0, Math.PI / 4, 1, "Test");
+		facade.sampleJumpTrajectory(worm, -1, new double[0]);
+	}
+
+	@Test
+	public void testWormExceptionsAreWrapped() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		long before = WormException.getRejectionCount(IllegalRadiusException.class);
+		try {
+			facade.setRadius(worm, 0.1);
+			fail();
+		} catch (ModelException exc) {
+			assertTrue(exc.getCause() instanceof IllegalRadiusException);
+			assertEquals(exc.getCause().getMessage(), exc.getMessage());
+		}
+		assertEquals(before + 1, WormException.getRejectionCount(IllegalRadiusException.class));
+	}
+
+	@Test
+	public void testStacklessWrapIsShared() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		ModelException first = null;
+		WormException.setStackTracesEnabled(false);
+		try {
+			for (int i = 0; i < 2; i++) {
+				try {
+					facade.setRadius(worm, 0.1);
+					fail();
+				} catch (ModelException exc) {
+					assertEquals(0, exc.getStackTrace().length);
+					if (first == null)
+						first = exc;
+					assertSame(first, exc);
+				}
+			}
+		} finally {
+			WormException.setStackTracesEnabled(true);
+		}
+	}
+
+	@Test
+	public void testRejectedMoveIsCounted() {
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		long before = WormException.getRejectionCount(IllegalActionPointsException.class);
+		try {
+			facade.move(worm, 100000);
+			fail();
+		} catch (ModelException exc) {
+			assertEquals(before + 1, WormException.getRejectionCount(IllegalActionPointsException.class));
+		}
+	}
+
+	@Test
+	public void testRejectedJumpAllIsCounted() {
+		Worm[] worms = { facade.createWorm(0, 0, 3 * Math.PI / 2, 1, "Test"),
+				facade.createWorm(0, 0, 3 * Math.PI / 2, 1, "Test") };
+		long before = WormException.getRejectionCount(IllegalDirectionException.class);
+		assertEquals(2, facade.jumpAll(worms, new BitSet()));
+		assertEquals(before + 2, WormException.getRejectionCount(IllegalDirectionException.class));
+	}
+
 }
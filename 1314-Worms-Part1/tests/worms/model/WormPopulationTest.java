@@ -0,0 +1,127 @@
+package worms.model;
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import worms.util.Util;
+
+public class WormPopulationTest {
+
+	private static final double EPS = Util.DEFAULT_EPSILON;
+
+	private WormPopulation population;
+
+	@Before
+	public void setup() {
+		population = new WormPopulation(2);
+	}
+
+	@Test
+	public void testWormsShareSlots() {
+		Worm first = new Worm(population, 1, 2, 0, 1, "First");
+		Worm second = new Worm(population, 3, 4, 0, 1, "Second");
+		assertSame(population, first.getPopulation());
+		assertEquals(0, first.getIndex());
+		assertEquals(1, second.getIndex());
+		assertEquals(2, population.size());
+		assertEquals(3, population.getX(second.getIndex()), EPS);
+		assertEquals("First", population.getName(first.getIndex()));
+	}
+
+	@Test
+	public void testStandaloneWormHasSingleWormPopulation() {
+		Worm worm = new Worm(1, 2, 0, 1, "Test");
+		worm.move(1);
+		assertEquals(1, worm.getPopulation().size());
+		assertEquals(1, worm.getPopulation().getCapacity());
+		assertEquals(0, worm.getIndex());
+		assertEquals(2, worm.getX(), EPS);
+		assertEquals(2, worm.getY(), EPS);
+		assertTrue(worm.getVersion() > 0);
+	}
+
+	@Test
+	public void testGrowKeepsState() {
+		Worm[] worms = new Worm[10];
+		for (int i = 0; i < worms.length; i++)
+			worms[i] = new Worm(population, i, -i, 0, 1, "Test");
+		assertTrue(population.getCapacity() >= worms.length);
+		for (int i = 0; i < worms.length; i++) {
+			assertEquals(i, worms[i].getX(), EPS);
+			assertEquals(-i, worms[i].getY(), EPS);
+			assertEquals(1, worms[i].getRadius(), EPS);
+		}
+	}
+
+	@Test
+	public void testInvalidWormGivesBackSlot() {
+		new Worm(population, 0, 0, 0, 1, "Valid");
+		try {
+			new Worm(population, 0, 0, 0, 1, "invalid");
+			fail();
+		} catch (IllegalNameException exc) {
+			assertEquals(1, population.size());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOnlyLastSlotCanBeDiscarded() {
+		new Worm(population, 0, 0, 0, 1, "First");
+		new Worm(population, 0, 0, 0, 1, "Second");
+		population.discard(0);
+	}
+
+	@Test
+	public void testFacadeUsesSharedPopulation() {
+		PopulationFacade facade = new PopulationFacade(population);
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		facade.move(worm, 5);
+		assertSame(population, worm.getPopulation());
+		assertEquals(5, facade.getX(worm), EPS);
+	}
+
+	@Test
+	public void testRegistryKeepsNamesUnique() {
+		population.setNameRegistry(new WormNameRegistry());
+		Worm first = new Worm(population, 0, 0, 0, 1, "First");
+		Worm second = new Worm(population, 0, 0, 0, 1, "Second");
+		assertFalse(second.canHaveAsName("First"));
+		try {
+			new Worm(population, 0, 0, 0, 1, "First");
+			fail();
+		} catch (IllegalNameException exc) {
+			assertEquals(2, population.size());
+		}
+		first.setName("Third");
+		second.setName("First");
+		assertSame(second, population.getNameRegistry().getWorm("First"));
+		assertSame(first, population.getNameRegistry().getWorm("Third"));
+		assertEquals(2, population.getNameRegistry().size());
+	}
+
+	@Test
+	public void testVersionIncreasesOnChange() {
+		PopulationFacade facade = new PopulationFacade(population);
+		Worm worm = facade.createWorm(0, 0, 0, 1, "Test");
+		long version = facade.getVersion(worm);
+		facade.getX(worm);
+		facade.canMove(worm, 1);
+		assertEquals(version, facade.getVersion(worm));
+		facade.move(worm, 1);
+		assertTrue(facade.getVersion(worm) > version);
+		version = facade.getVersion(worm);
+		facade.rename(worm, "Other");
+		assertTrue(facade.getVersion(worm) > version);
+		version = facade.getVersion(worm);
+		try {
+			facade.rename(worm, "invalid");
+			fail();
+		} catch (ModelException exc) {
+			assertEquals(version, facade.getVersion(worm));
+		}
+		worm.setMinimalRadius(0.5);
+		assertTrue(facade.getVersion(worm) > version);
+	}
+
+}
@@ -0,0 +1,96 @@
+package worms.model;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class WormSpatialIndexTest {
+
+	private WormPopulation population;
+	private WormSpatialIndex index;
+
+	@Before
+	public void setup() {
+		population = new WormPopulation();
+		index = new WormSpatialIndex(1);
+		population.setSpatialIndex(index);
+	}
+
+	@Test
+	public void testNewWormsAreIndexed() {
+		Worm worm = new Worm(population, 3, 4, 0, 1, "Test");
+		assertTrue(index.contains(worm));
+		assertEquals(1, index.size());
+		assertSame(worm, index.getWormAt(3.5, 4));
+		assertNull(index.getWormAt(5, 4));
+	}
+
+	@Test
+	public void testGetWormAtPicksClosest() {
+		new Worm(population, 0, 0, 0, 1, "Left");
+		Worm right = new Worm(population, 1, 0, 0, 1, "Right");
+		assertSame(right, index.getWormAt(0.75, 0));
+	}
+
+	@Test
+	public void testMoveUpdatesIndex() {
+		Worm worm = new Worm(population, 0, 0, 0, 1, "Test");
+		worm.move(5);
+		assertNull(index.getWormAt(0, 0));
+		assertSame(worm, index.getWormAt(5, 0));
+	}
+
+	@Test
+	public void testJumpUpdatesIndex() {
+		Worm worm = new Worm(population, 0, 0, Math.PI / 4, 1, "Test");
+		worm.jump();
+		assertSame(worm, index.getWormAt(worm.getX(), 0));
+		assertNull(index.getWormAt(0, 0));
+	}
+
+	@Test
+	public void testSetRadiusWidensQueries() {
+		Worm worm = new Worm(population, 0, 0, 0, 1, "Test");
+		worm.setRadius(10);
+		assertSame(worm, index.getWormAt(9.5, 0));
+	}
+
+	@Test
+	public void testCircleAndRectangleQueries() {
+		Worm near = new Worm(population, 2, 0, 0, 0.5, "Near");
+		Worm far = new Worm(population, 20, 20, 0, 0.5, "Far");
+		List<Worm> result = new ArrayList<Worm>();
+		assertEquals(1, index.getWormsInCircle(0, 0, 1.6, result));
+		assertEquals(near, result.get(0));
+
+		result.clear();
+		assertEquals(1, index.getWormsInRectangle(19.6, 19.6, 30, 30, result));
+		assertEquals(far, result.get(0));
+
+		result.clear();
+		assertEquals(2, index.getWormsInRectangle(-100, -100, 100, 100, result));
+	}
+
+	@Test
+	public void testRemove() {
+		Worm worm = new Worm(population, 0, 0, 0, 1, "Test");
+		index.remove(worm);
+		assertFalse(index.contains(worm));
+		assertNull(index.getWormAt(0, 0));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSetSpatialIndexOnFilledPopulation() {
+		new Worm(population, 0, 0, 0, 1, "Test");
+		population.setSpatialIndex(new WormSpatialIndex());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCellSize() {
+		new WormSpatialIndex(0);
+	}
+
+}